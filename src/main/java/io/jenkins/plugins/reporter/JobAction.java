@@ -8,24 +8,51 @@ import hudson.model.Job;
 import hudson.model.Run;
 import io.jenkins.plugins.echarts.AsyncConfigurableTrendChart;
 import io.jenkins.plugins.reporter.charts.ItemHistoryChart;
+import io.jenkins.plugins.reporter.charts.TrendDownsampler;
+import io.jenkins.plugins.reporter.charts.TrendModelCache;
+import io.jenkins.plugins.reporter.index.TrendIndex;
+import io.jenkins.plugins.reporter.index.TrendPoint;
+import io.jenkins.plugins.reporter.index.TrendPointSeriesBuilder;
 import io.jenkins.plugins.reporter.model.*;
 import io.jenkins.plugins.reporter.util.BuildResultNavigator;
 import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.stapler.bind.JavaScriptMethod;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * The action of a job that shows the trend of a report. The action is created once for the report of the last build
+ * and holds only a summary of the report: its ID, name, the latest build with the report and whether a trend is
+ * visible. The trend chart is drawn from the {@link TrendIndex} or the summaries of the builds, and the labels and 
+ * colors of its series are taken from the {@link ReportSummary} of the last build, so the report itself is never
+ * loaded.
+ */
 public class JobAction implements AsyncConfigurableTrendChart, Action {
 
     private final Job<?, ?> owner;
     
+    private final String id;
+    
     private final String name;
     
-    private final Report report;
+    private final ReportSummary summary;
+    
+    /** The number of the latest build with the report, 0 if no build contains the report, or -1 if not computed yet. */
+    private transient volatile int latestBuild = -1;
+    
+    /** The number of builds with the report, or -1 if not computed yet. */
+    private transient volatile int builds = -1;
     
     private static final JacksonFacade JACKSON_FACADE = new JacksonFacade();
     
+    private static final Logger LOGGER = Logger.getLogger(JobAction.class.getName());
+    
     public static final String ICON = "/plugin/nested-data-reporting/icons/data-reporting-icon.svg";
 
     /**
@@ -33,13 +60,18 @@ public class JobAction implements AsyncConfigurableTrendChart, Action {
      *
      * @param owner
      *         the job that owns this action
+     * @param id
+     *         the ID of the report
      * @param name 
      *          the human-readable name
+     * @param summary
+     *          the summary of the report of the last build
      */
-    public JobAction(final Job<?, ?> owner, String name, final Report report) {
+    public JobAction(final Job<?, ?> owner, final String id, final String name, final ReportSummary summary) {
         this.owner = owner;
+        this.id = id;
         this.name = name;
-        this.report = report;
+        this.summary = summary;
     }
     
     @Override
@@ -54,16 +86,47 @@ public class JobAction implements AsyncConfigurableTrendChart, Action {
 
     @Override
     public String getUrlName() {
-        try {
-            History history = createBuildHistory();
-            for (BuildResult<ReportResult> buildResult : history) {
-                return buildResult.getBuild().getNumber() + "/report-" + URLEncoder.encode(name, "UTF-8");
+        int latest = getLatestBuild();
+        if (latest > 0) {
+            try {
+                return latest + "/report-" + URLEncoder.encode(name, "UTF-8");
+            } catch (UnsupportedEncodingException e) {
+                return String.valueOf(latest);
             }
-        } catch (UnsupportedEncodingException e) {
-            return String.valueOf(getOwner().getLastBuild().getNumber());
         }
 
-        return String.valueOf(getOwner().getLastBuild().getNumber());
+        Run<?, ?> lastBuild = getOwner().getLastBuild();
+        return lastBuild == null ? StringUtils.EMPTY : String.valueOf(lastBuild.getNumber());
+    }
+    
+    /**
+     * Returns the number of the latest build that contains the report.
+     *
+     * @return the build number, or 0 if no build contains the report
+     */
+    public int getLatestBuild() {
+        if (latestBuild < 0) {
+            computeSummary();
+        }
+        return latestBuild;
+    }
+    
+    /**
+     * Computes the latest build and the number of builds with the report. The values are taken from the 
+     * {@link TrendIndex} of the report, or from the {@link HistoryCache} if the index does not exist. 
+     */
+    private void computeSummary() {
+        Optional<List<BuildResult<TrendPoint>>> trend = readTrendIndex();
+        if (trend.isPresent()) {
+            List<BuildResult<TrendPoint>> results = trend.get();
+            builds = results.size();
+            latestBuild = results.isEmpty() ? 0 : results.get(0).getBuild().getNumber();
+        }
+        else {
+            List<HistoryCache.Entry> entries = HistoryCache.get().getEntries(owner, id);
+            builds = entries.size();
+            latestBuild = entries.isEmpty() ? 0 : entries.get(0).getNumber();
+        }
     }
     
     /**
@@ -77,17 +140,33 @@ public class JobAction implements AsyncConfigurableTrendChart, Action {
             return new NullReportHistory();
         }
         else {
-            return new ReportHistory(lastCompletedBuild, new ByIdResultSelector(report.getId()));
+            return new ReportHistory(lastCompletedBuild, new ByIdResultSelector(id));
         }
     }
     
-    public Report getReport() {
-        return report;
+    /**
+     * Reads the values of all builds from the {@link TrendIndex} of the report. 
+     *
+     * @return the values of all builds, starting with the latest build, or an empty optional if the index does not
+     *         exist and the values have to be computed from the build history
+     */
+    private Optional<List<BuildResult<TrendPoint>>> readTrendIndex() {
+        TrendIndex index = TrendIndex.of(owner, id);
+        if (index.exists()) {
+            try {
+                return Optional.of(index.readBuildResults());
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, String.format("Can't read trend index of report '%s'", id), 
+                        exception);
+            }
+        }
+        return Optional.empty();
     }
     
     @JavaScriptMethod
     public String getTrendId() {
-        return report.getId();
+        return id;
     }
 
     /**
@@ -102,14 +181,66 @@ public class JobAction implements AsyncConfigurableTrendChart, Action {
     @Override
     @JavaScriptMethod
     public String getConfigurableBuildTrendModel(String configuration) {
+        return TrendModelCache.get().getModel(getCacheKey(), configuration, getTrendVersion(configuration),
+                () -> createTrendModel(configuration));
+    }
+
+    /**
+     * Returns the trend model only if it has changed since the client received the model with the given version.
+     *
+     * @param configuration
+     *         the chart configuration as JSON
+     * @param version
+     *         the version token of the model of the client, or an empty string if the client has no model
+     *
+     * @return the version token and, if the trend has changed, the model
+     * @see TrendModelCache#createResponse(String, String)
+     */
+    @JavaScriptMethod
+    public String getTrendModelIfModified(final String configuration, final String version) {
+        String current = getTrendVersion(configuration);
+        if (current.equals(version)) {
+            return TrendModelCache.createResponse(current, null);
+        }
+        return TrendModelCache.createResponse(current, getConfigurableBuildTrendModel(configuration));
+    }
+
+    private String getCacheKey() {
+        return owner.getFullName() + '\n' + id;
+    }
+
+    private String getTrendVersion(final String configuration) {
+        return TrendModelCache.createVersion(owner, id, configuration);
+    }
+
+    /**
+     * Creates the trend model of all builds.
+     *
+     * @param configuration
+     *         the chart configuration as JSON
+     *
+     * @return the model as JSON
+     */
+    private String createTrendModel(final String configuration) {
         ChartModelConfiguration modelConfiguration = ChartModelConfiguration.fromJson(configuration);
+        int topItems = ReportingConfiguration.get().getChartTopItems();
+        ItemHistoryChart chart = new ItemHistoryChart(TrendDownsampler.fromJson(configuration), topItems);
         
-        return new JacksonFacade().toJson(new ItemHistoryChart().create(createBuildHistory(), modelConfiguration, 
-                new ReportSeriesBuilder(), report, report.getItems()));
+        Optional<List<BuildResult<TrendPoint>>> trend = readTrendIndex();
+        if (trend.isPresent()) {
+            return JACKSON_FACADE.toJson(chart.create(trend.get(), modelConfiguration,
+                    new TrendPointSeriesBuilder(), summary));
+        }
+        
+        return JACKSON_FACADE.toJson(chart.create(createBuildHistory(), modelConfiguration, 
+                new ReportSeriesBuilder(), summary));
     }
 
     @Override
     public boolean isTrendVisible() {
-        return createBuildHistory().hasMultipleResults();
+        if (builds < 0) {
+            computeSummary();
+        }
+        return builds > 1;
     }
 }
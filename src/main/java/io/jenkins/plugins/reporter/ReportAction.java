@@ -3,6 +3,7 @@ package io.jenkins.plugins.reporter;
 import hudson.model.Action;
 import hudson.model.Run;
 import io.jenkins.plugins.reporter.model.Item;
+import io.jenkins.plugins.reporter.model.ReportActionIndex;
 import jenkins.model.RunAction2;
 import jenkins.tasks.SimpleBuildStep.LastBuildAction;
 import org.apache.commons.lang3.StringUtils;
@@ -14,6 +15,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Optional;
 
 public class ReportAction implements LastBuildAction, RunAction2, StaplerProxy, Serializable {
@@ -30,10 +32,13 @@ public class ReportAction implements LastBuildAction, RunAction2, StaplerProxy,
     
     private final ReportResult result;
     
+    /** The job action of this report, created once the report is the latest one of the job. */
+    private transient JobAction jobAction;
+    
     public ReportAction(final Run<?, ?> owner, final ReportResult result, String name) {
         this.owner = owner;
         this.result = result;
-        this.id = result.getReport().getId();
+        this.id = result.getSummary().getId();
         this.name = name;
     }
     
@@ -41,11 +46,14 @@ public class ReportAction implements LastBuildAction, RunAction2, StaplerProxy,
     public void onAttached(Run<?, ?> r) {
         owner = r;
         result.setOwner(r);
+        ReportActionIndex.register(r, this);
     }
 
     @Override
     public void onLoad(Run<?, ?> r) {
-        onAttached(r);
+        owner = r;
+        result.setOwner(r);
+        ReportActionIndex.load(r, this);
     }
     
     /**
@@ -102,6 +110,9 @@ public class ReportAction implements LastBuildAction, RunAction2, StaplerProxy,
         item.setId(REPORT_ID);
         item.setName(name);
         item.setItems(result.getReport().getItems());
+        if (result.isPruned()) {
+            item.setResult(new LinkedHashMap<>(result.getSummary().getTotals()));
+        }
         return new ReportDetails(getOwner(), getUrlName(), result, name, item, Optional.empty());
     }
 
@@ -121,6 +132,9 @@ public class ReportAction implements LastBuildAction, RunAction2, StaplerProxy,
 
     @Override
     public Collection<? extends Action> getProjectActions() {
-        return Collections.singletonList(new JobAction(getOwner().getParent(), name, result.getReport()));
+        if (jobAction == null) {
+            jobAction = new JobAction(getOwner().getParent(), id, name, result.getSummary());
+        }
+        return Collections.singletonList(jobAction);
     }
 }
@@ -6,9 +6,17 @@ import edu.hm.hafner.echarts.JacksonFacade;
 import hudson.model.ModelObject;
 import hudson.model.Run;
 import io.jenkins.plugins.reporter.charts.ItemHistoryChart;
+import io.jenkins.plugins.reporter.charts.TrendDownsampler;
+import io.jenkins.plugins.reporter.charts.TrendModelCache;
 import io.jenkins.plugins.reporter.charts.ItemPieChart;
+import io.jenkins.plugins.reporter.index.ItemSeriesIndex;
+import io.jenkins.plugins.reporter.index.TrendIndex;
+import io.jenkins.plugins.reporter.index.TrendPoint;
+import io.jenkins.plugins.reporter.index.TrendPointSeriesBuilder;
 import io.jenkins.plugins.reporter.model.*;
 import io.jenkins.plugins.reporter.util.BuildResultNavigator;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
 import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.stapler.StaplerRequest2;
 import org.kohsuke.stapler.StaplerResponse2;
@@ -19,9 +27,16 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class ReportDetails implements ModelObject {
 
+    private static final Logger LOGGER = Logger.getLogger(ReportDetails.class.getName());
+
+    /** The maximum number of rows of a page of the distribution table. */
+    private static final int MAX_PAGE_LENGTH = 1000;
+
     private final transient Run<?, ?> owner;
 
     private final String displayName;
@@ -33,10 +48,6 @@ public class ReportDetails implements ModelObject {
     private final Optional<ReportDetails> parentViewModel;
     
     private final String url;
-
-    private final List<String> errorMessages = new ArrayList<>();
-    
-    private final List<String> infoMessages = new ArrayList<>();
     
     /**
      * Creates a new instance of {@link ReportDetails}.
@@ -64,9 +75,6 @@ public class ReportDetails implements ModelObject {
         this.result = result;
         this.item = item;
         this.displayName = displayName;
-
-        infoMessages.addAll(result.getInfoMessages());
-        errorMessages.addAll(result.getErrorMessages());
     }
 
     ReportResult getResult() {
@@ -80,7 +88,7 @@ public class ReportDetails implements ModelObject {
      */
     @SuppressWarnings("unused") // Called by jelly view
     public Collection<String> getErrorMessages() {
-        return errorMessages;
+        return result.getErrorMessages();
     }
 
     /**
@@ -90,13 +98,55 @@ public class ReportDetails implements ModelObject {
      */
     @SuppressWarnings("unused") // Called by jelly view
     public Collection<String> getInfoMessages() {
-        return infoMessages;
+        return result.getInfoMessages();
+    }
+
+    /**
+     * Returns the total number of error messages of the static analysis run, including the messages that are not
+     * kept as sample.
+     *
+     * @return the number of error messages
+     */
+    @SuppressWarnings("unused") // Called by jelly view
+    public long getErrorCount() {
+        return result.getDiagnostics().getCount(Diagnostics.Severity.ERROR);
+    }
+
+    /**
+     * Returns the total number of information messages of the static analysis run, including the messages that are
+     * not kept as sample.
+     *
+     * @return the number of information messages
+     */
+    @SuppressWarnings("unused") // Called by jelly view
+    public long getInfoCount() {
+        return result.getDiagnostics().getCount(Diagnostics.Severity.INFO);
+    }
+
+    /**
+     * Returns the number of information messages aggregated by their category.
+     *
+     * @return the number of information messages by category
+     */
+    @SuppressWarnings("unused") // Called by jelly view
+    public Map<String, Integer> getInfoCategories() {
+        return result.getDiagnostics().getCategories(Diagnostics.Severity.INFO);
     }
 
     public Item getItem() {
         return item;
     }
 
+    /**
+     * Returns whether the details of the report have been pruned by the retention policy.
+     *
+     * @return {@code true} if only the summary of the report is available, {@code false} otherwise
+     */
+    @SuppressWarnings("unused") // Called by jelly view
+    public boolean isPruned() {
+        return result.isPruned();
+    }
+
     @Override
     public String getDisplayName() {
         return displayName;
@@ -136,7 +186,9 @@ public class ReportDetails implements ModelObject {
      */
     @SuppressWarnings("unused") // Called by jelly view
     public String getItemPieChartModel() {
-        return new JacksonFacade().toJson(new ItemPieChart().create(result.getReport(), getItem()));
+        int topItems = ReportingConfiguration.get().getChartTopItems();
+        return ReportViewCache.get().getPieChartModel(owner, result, item.getId(), topItems, () -> 
+                new JacksonFacade().toJson(new ItemPieChart(topItems).create(result.getReport(), getItem())));
     }
 
     /**
@@ -149,6 +201,131 @@ public class ReportDetails implements ModelObject {
         return new ItemTableModel(result.getReport(), getItem());
     }
 
+    /**
+     * Returns the rendered content of the distribution table.
+     *
+     * @return the table data
+     */
+    @SuppressWarnings("unused") // Called by jelly view
+    public ItemTableData getTableData() {
+        return ReportViewCache.get().getTableData(owner, result, item.getId(), 
+                () -> new ItemTableData(getTableModel()));
+    }
+
+    /**
+     * Returns a page of the rows of the distribution table, in the format of the server-side processing of 
+     * DataTables. Only the visible rows are rendered, the sort orders of the table are cached.
+     *
+     * @param draw
+     *          the sequence number of the request, returned unchanged
+     * @param start
+     *          the position of the first row of the page
+     * @param length
+     *          the number of rows of the page, negative to request all rows
+     * @param column
+     *          the column to sort by
+     * @param direction
+     *          the sort direction, either {@code asc} or {@code desc}
+     * @param filter
+     *          the text the names of the rows must contain, or an empty string to show all rows
+     *
+     * @return the rows of the page as JSON
+     */
+    @JavaScriptMethod
+    @SuppressWarnings("unused") // Called by item.js
+    public String getTableRows(final int draw, final int start, final int length, final int column, 
+                               final String direction, final String filter) {
+        ItemTableModel model = getTableModel();
+        int[] order = ReportViewCache.get().getTableOrder(owner, result, item.getId(), column, 
+                () -> model.createOrder(column));
+        boolean ascending = !"desc".equals(direction);
+        int end = start + Math.min(length < 0 ? MAX_PAGE_LENGTH : length, MAX_PAGE_LENGTH);
+        
+        JSONArray rows = new JSONArray();
+        int filtered = 0;
+        for (int i = 0; i < order.length; i++) {
+            int index = order[ascending ? i : order.length - 1 - i];
+            if (StringUtils.isNotEmpty(filter) 
+                    && !StringUtils.containsIgnoreCase(item.getItems().get(index).getName(), filter)) {
+                continue;
+            }
+            if (filtered >= start && filtered < end) {
+                rows.add(new ItemTableData.Row(model.getRow(index)).toHtml());
+            }
+            filtered++;
+        }
+
+        JSONObject page = new JSONObject();
+        page.put("draw", draw);
+        page.put("recordsTotal", order.length);
+        page.put("recordsFiltered", filtered);
+        page.put("data", rows);
+        return page.toString();
+    }
+
+    /**
+     * Returns a page of the sub items of an item below the item of this view, so that the client can navigate the 
+     * tree of items without loading a new page for each level. Each sub item contains its rolled up result, its total,
+     * and the number of its own sub items.
+     *
+     * @param path
+     *          the encoded IDs of the items from the item of this view to the requested item, separated by slashes, 
+     *          or an empty string for the item of this view
+     * @param start
+     *          the position of the first sub item of the page
+     * @param length
+     *          the number of sub items of the page
+     *
+     * @return the sub items as JSON, or an empty object if the item does not exist
+     */
+    @JavaScriptMethod
+    @SuppressWarnings("unused") // Called by tree.js
+    public String getChildren(final String path, final int start, final int length) {
+        Optional<Item> node = findNode(path);
+        if (node.isEmpty()) {
+            return new JSONObject().toString();
+        }
+
+        List<Item> children = node.get().hasItems() ? node.get().getItems() : Collections.emptyList();
+        int from = Math.max(0, Math.min(start, children.size()));
+        int to = Math.min(children.size(), from + Math.max(0, Math.min(length, MAX_PAGE_LENGTH)));
+
+        Report report = result.getReport();
+        JSONArray page = new JSONArray();
+        for (Item child : children.subList(from, to)) {
+            JSONObject json = new JSONObject();
+            json.put("id", child.getEncodedId());
+            json.put("name", child.getName());
+            json.put("total", child.getTotal());
+            json.put("result", child.getResult());
+            json.put("color", report.getColor(child.getId()));
+            json.put("childCount", child.hasItems() ? child.getItems().size() : 0);
+            page.add(json);
+        }
+
+        JSONObject response = new JSONObject();
+        response.put("path", path);
+        response.put("total", node.get().getTotal());
+        response.put("count", children.size());
+        response.put("start", from);
+        response.put("children", page);
+        return response.toString();
+    }
+
+    private Optional<Item> findNode(final String path) {
+        Optional<Item> node = Optional.of(item);
+        for (String encodedId : StringUtils.split(StringUtils.defaultString(path), '/')) {
+            try {
+                String id = URLDecoder.decode(encodedId, "UTF-8");
+                node = node.flatMap(parent -> parent.findItem(id));
+            }
+            catch (UnsupportedEncodingException | IllegalArgumentException exception) {
+                return Optional.empty();
+            }
+        }
+        return node;
+    }
+
     /**
      * Returns the UI model for an ECharts line chart that shows the item result.
      *
@@ -160,8 +337,87 @@ public class ReportDetails implements ModelObject {
     @JavaScriptMethod
     @SuppressWarnings("unused") // Called by jelly view
     public String getBuildTrend(final String configuration) {
-        return new JacksonFacade().toJson(new ItemHistoryChart().create(createHistory(),
-                ChartModelConfiguration.fromJson(configuration), new ItemSeriesBuilder(item), result.getReport(), item.getItems()));
+        return TrendModelCache.get().getModel(getCacheKey(), configuration, getTrendVersion(configuration),
+                () -> createBuildTrend(configuration));
+    }
+
+    /**
+     * Returns the UI model for the trend chart only if it has changed since the client received the model with the
+     * given version.
+     *
+     * @param configuration
+     *          determines whether the Jenkins build number should be used on the X-axis or the date
+     * @param version
+     *          the version token of the model of the client, or an empty string if the client has no model
+     *
+     * @return the version token and, if the trend has changed, the UI model
+     * @see TrendModelCache#createResponse(String, String)
+     */
+    @JavaScriptMethod
+    @SuppressWarnings("unused") // Called by jelly view
+    public String getBuildTrendIfModified(final String configuration, final String version) {
+        String current = getTrendVersion(configuration);
+        if (current.equals(version)) {
+            return TrendModelCache.createResponse(current, null);
+        }
+        return TrendModelCache.createResponse(current, getBuildTrend(configuration));
+    }
+
+    private String getCacheKey() {
+        return owner.getParent().getFullName() + '\n' + result.getSummary().getId() + '\n' + owner.getNumber() 
+                + '\n' + item.getId();
+    }
+
+    private String getTrendVersion(final String configuration) {
+        return TrendModelCache.createVersion(owner.getParent(), result.getSummary().getId(), configuration);
+    }
+
+    private String createBuildTrend(final String configuration) {
+        ChartModelConfiguration modelConfiguration = ChartModelConfiguration.fromJson(configuration);
+        ItemHistoryChart chart = new ItemHistoryChart(TrendDownsampler.fromJson(configuration), 
+                ReportingConfiguration.get().getChartTopItems());
+        
+        Optional<List<BuildResult<TrendPoint>>> trend = readTrendIndex();
+        if (trend.isPresent()) {
+            return new JacksonFacade().toJson(chart.create(trend.get(), modelConfiguration,
+                    new TrendPointSeriesBuilder(), result.getReport(), item.getItems()));
+        }
+        
+        // the series of the items are computed from the reports of the builds
+        try (ReportHistory history = createHistory().withPrefetchedReports()) {
+            return new JacksonFacade().toJson(chart.create(history,
+                    modelConfiguration, new ItemSeriesBuilder(item), result.getReport(), item.getItems()));
+        }
+    }
+
+    /**
+     * Reads the series of the item in this and all previous builds from the indexes of the job. The whole report uses
+     * the {@link TrendIndex}, all other items with a details page use the {@link ItemSeriesIndex}.
+     *
+     * @return the series of the builds, starting with the build of this view, or an empty optional if the index does 
+     *         not exist and the series have to be computed from the build history
+     */
+    private Optional<List<BuildResult<TrendPoint>>> readTrendIndex() {
+        String reportId = result.getSummary().getId();
+        try {
+            if (ReportAction.REPORT_ID.equals(item.getId())) {
+                TrendIndex index = TrendIndex.of(owner.getParent(), reportId);
+                if (index.exists()) {
+                    return Optional.of(index.readBuildResults(owner.getNumber()));
+                }
+            }
+            else if (ItemSeriesIndex.hasDetails(item)) {
+                ItemSeriesIndex index = ItemSeriesIndex.of(owner.getParent(), reportId);
+                if (index.exists()) {
+                    return Optional.of(index.readBuildResults(item.getId(), owner.getNumber()));
+                }
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, String.format("Can't read trend index of item '%s' in report '%s'", 
+                    item.getId(), reportId), exception);
+        }
+        return Optional.empty();
     }
 
     /**
@@ -187,7 +443,7 @@ public class ReportDetails implements ModelObject {
     }
 
     private ReportHistory createHistory() {
-        return new ReportHistory(owner, new ByIdResultSelector(result.getReport().getId()));
+        return new ReportHistory(owner, new ByIdResultSelector(result.getSummary().getId()));
     }
 
     /**
@@ -206,11 +462,7 @@ public class ReportDetails implements ModelObject {
     public Object getDynamic(final String link, final StaplerRequest2 request, final StaplerResponse2 response) {
         try {
             String decodedLink = URLDecoder.decode(link, "UTF-8");
-            Item subItem = item.getItems()
-                    .stream()
-                    .filter(i -> Objects.equals(i.getId(), decodedLink))
-                    .findFirst()
-                    .orElseThrow(NoSuchElementException::new);
+            Item subItem = item.findItem(decodedLink).orElseThrow(NoSuchElementException::new);
 
             String url = getUrl() + "/" + link;
             return new ReportDetails(owner, URLEncoder.encode(url, "UTF-8"), result, Messages.Module_Description(subItem.getName()), subItem,
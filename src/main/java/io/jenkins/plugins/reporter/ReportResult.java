@@ -1,32 +1,105 @@
 package io.jenkins.plugins.reporter;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import hudson.model.Run;
+import io.jenkins.plugins.reporter.model.Diagnostics;
 import io.jenkins.plugins.reporter.model.Report;
-import java.util.Collections;
+import io.jenkins.plugins.reporter.model.ReportSummary;
+import io.jenkins.plugins.reporter.storage.ReportMigration;
+import io.jenkins.plugins.reporter.storage.ReportStorage;
 
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.lang.ref.SoftReference;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * The result of a published report. Only the {@link ReportSummary summary} of the report is always available.
+ * Unless the report is stored {@link ReportStorage#INLINE inline}, the complete report is read from its
+ * {@link ReportStorage#getStore() store} on first access and held by a soft reference, so it can be reclaimed if
+ * memory gets low and nobody views the report.
+ */
 public class ReportResult implements Serializable {
 
     private static final long serialVersionUID = 7761451736733548294L;
 
+    private static final Logger LOGGER = Logger.getLogger(ReportResult.class.getName());
+
     private transient Run<?, ?> owner;
 
-    private final Report report;
-    
-    private final List<String> errors;
-    
-    private final List<String> messages;
-    
+    @CheckForNull
+    private volatile Report report;
+
+    private ReportSummary summary;
+
+    private ReportStorage storage;
+
+    private transient volatile SoftReference<Report> storedReport = new SoftReference<>(null);
+
+    // Copies of the report messages, only read from old builds
+    private List<String> errors;
+
+    // Copies of the report messages, only read from old builds
+    private List<String> messages;
+
     public ReportResult(final Run<?, ?> owner, final Report report) {
+        this(owner, report, ReportStorage.INLINE);
+    }
+
+    /**
+     * Creates a new instance of {@link ReportResult}.
+     *
+     * @param owner
+     *         the run that published the report
+     * @param report
+     *         the frozen report, it must already be written to the {@link ReportStorage#getStore() store} of the
+     *         storage
+     * @param storage
+     *         where the report is stored
+     */
+    public ReportResult(final Run<?, ?> owner, final Report report, final ReportStorage storage) {
         this.owner = owner;
-        this.report = report;
-        messages = new ArrayList<>(report.getInfoMessages());
-        errors = new ArrayList<>(report.getErrorMessages());
+        this.storage = storage;
+        this.summary = new ReportSummary(report);
+
+        if (storage.isInline()) {
+            this.report = report;
+            ReportMigration.getProgress().foundInlineReport();
+        }
+        else {
+            this.report = null;
+            this.storedReport = new SoftReference<>(report);
+        }
+    }
+
+    /**
+     * Called after de-serialization to retain backward compatibility. Since the frozen state of the report is not
+     * persisted, the report is frozen again.
+     *
+     * @return this
+     */
+    protected Object readResolve() {
+        errors = null;
+        messages = null;
+        storedReport = new SoftReference<>(null);
+        if (storage == null) {
+            storage = ReportStorage.INLINE;
+        }
+        if (report != null) {
+            if (storage.isInline()) {
+                ReportMigration.getProgress().foundInlineReport();
+            }
+            report.freeze();
+            if (summary == null) {
+                summary = new ReportSummary(report);
+            }
+        }
+
+        return this;
     }
-    
+
     public Run<?, ?> getOwner() {
         return owner;
     }
@@ -41,15 +114,134 @@ public class ReportResult implements Serializable {
         this.owner = owner;
     }
 
+    public ReportStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Returns the summary of the report. The summary is always in memory.
+     *
+     * @return the summary
+     */
+    public ReportSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * Returns the report. If the report is not stored inline, it is read from the store when it is requested for
+     * the first time or after it has been reclaimed by the garbage collector.
+     *
+     * @return the report
+     */
     public Report getReport() {
-        return report;
+        Report inline = report;
+        if (inline != null) {
+            return inline;
+        }
+
+        Report loaded = storedReport.get();
+        if (loaded == null) {
+            loaded = readReport();
+        }
+        return loaded;
     }
-    
+
+    /**
+     * Moves an inline report to the store of the given storage. Afterwards only the summary of the report remains in
+     * this result, so the owner has to be saved to remove the report from its {@code build.xml}.
+     *
+     * @param target
+     *         the storage to move the report to
+     *
+     * @return {@code true} if the report has been moved, {@code false} if it is not stored inline
+     * @throws IOException
+     *         if the report cannot be written to the store
+     */
+    public synchronized boolean migrate(final ReportStorage target) throws IOException {
+        Report inline = report;
+        if (inline == null || !target.hasStore()) {
+            return false;
+        }
+
+        target.getStore().write(owner, inline);
+        storedReport = new SoftReference<>(inline);
+        storage = target;
+        report = null;
+        return true;
+    }
+
+    /**
+     * Returns whether the details of the report have been pruned, so that only the summary is available.
+     *
+     * @return {@code true} if the report has been pruned, {@code false} otherwise
+     */
+    public boolean isPruned() {
+        return storage == ReportStorage.PRUNED;
+    }
+
+    /**
+     * Removes the details of the report. Afterwards only the summary of the report remains, the report itself is
+     * replaced by an empty report. The owner has to be saved to remove an inline report from its {@code build.xml}.
+     *
+     * @return {@code true} if the report has been pruned, {@code false} if it has been pruned before
+     * @throws IOException
+     *         if the report cannot be deleted from its store
+     */
+    public synchronized boolean prune() throws IOException {
+        if (isPruned()) {
+            return false;
+        }
+
+        if (storage.hasStore()) {
+            storage.getStore().delete(owner, summary.getId());
+        }
+        storedReport = new SoftReference<>(createEmptyReport());
+        storage = ReportStorage.PRUNED;
+        report = null;
+        return true;
+    }
+
+    private synchronized Report readReport() {
+        Report loaded = storedReport.get();
+        if (loaded != null) {
+            return loaded;
+        }
+
+        if (isPruned()) {
+            loaded = createEmptyReport();
+        }
+        else {
+            try {
+                loaded = storage.getStore().read(owner, summary.getId());
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, String.format("Can't read report '%s' of %s",
+                        summary.getId(), owner), exception);
+                // the empty report is not cached, so the report is read again on the next request
+                return createEmptyReport();
+            }
+        }
+        storedReport = new SoftReference<>(loaded);
+        return loaded;
+    }
+
+    private Report createEmptyReport() {
+        Report empty = new Report(summary.getName());
+        empty.setId(summary.getId());
+        empty.setDisplayType(summary.getDisplayType());
+        empty.freeze();
+        return empty;
+    }
+
+    public Diagnostics getDiagnostics() {
+        return getReport().getDiagnostics();
+    }
+
     public List<String> getErrorMessages() {
-        return Collections.unmodifiableList(errors);
+        return getReport().getErrorMessages();
     }
-    
+
     public List<String> getInfoMessages() {
-        return Collections.unmodifiableList(messages);
+        return getReport().getInfoMessages();
     }
 }
@@ -3,18 +3,31 @@ package io.jenkins.plugins.reporter;
 import hudson.FilePath;
 import hudson.model.Run;
 import hudson.model.TaskListener;
-import io.jenkins.plugins.reporter.model.ColorPalette;
+import io.jenkins.plugins.reporter.index.ColorRegistry;
+import io.jenkins.plugins.reporter.model.Diagnostics;
+import io.jenkins.plugins.reporter.model.Diagnostics.Severity;
 import io.jenkins.plugins.reporter.model.Provider;
 import io.jenkins.plugins.reporter.model.Report;
 import io.jenkins.plugins.reporter.util.LogHandler;
+import jenkins.util.SystemProperties;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.io.PrintWriter;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
 
 public class ReportScanner {
 
+    /** Directory in the build folder that holds additional files of the published reports. */
+    public static final String REPORTS_DIRECTORY = "nested-data-reporting";
+    
+    /** Write the diagnostics of each report to a separate log file in the build folder. */
+    private static final boolean SPILL_DIAGNOSTICS = SystemProperties.getBoolean(
+            ReportScanner.class.getName() + ".spillDiagnostics");
+
     private final Run<?, ?> run;
 
     private final FilePath workspace;
@@ -34,47 +47,76 @@ public class ReportScanner {
         LogHandler logger = new LogHandler(listener, provider.getSymbolName());
         Report report = provider.scan(run, workspace, logger);
 
-        if (!report.hasColors()) {
-            report.logInfo("Report has no colors! Try to find the colors of the previous report.");
-            
-            Optional<Report> prevReport = findPreviousReport(run, report.getId());
-
-            if (prevReport.isPresent()) {
-                Report previous = prevReport.get();
-
-                if (previous.hasColors()) {
-                    report.logInfo("Previous report has colors. Add it to this report.");
-                    report.setColors(previous.getColors());
-                } else {
-                    report.logInfo("Previous report has no colors. Will generate color palette.");
-                    report.setColors(new ColorPalette(report.getColorIds()).generatePalette());
-                }
-
-            } else {
-                report.logInfo("No previous report found. Will generate color palette.");
-                report.setColors(new ColorPalette(report.getColorIds()).generatePalette());
-            }
-        }
+        registerColors(report);
         
         logger.log(report);
         
+        if (SPILL_DIAGNOSTICS) {
+            spillDiagnostics(report, logger);
+        }
+        
         return report;
     }
 
-    public Optional<Report> findPreviousReport(Run<?,?> run, String id) {
-        Run<?, ?> prevBuild = run.getPreviousBuild();
+    /**
+     * Writes the counters, categories and all sample messages of the report to a log file in the build folder. The 
+     * published report only keeps the latest {@link Diagnostics#PUBLISHED_CAPACITY} samples.
+     *
+     * @param report
+     *          the report to write the diagnostics for
+     * @param logger
+     *          the logger
+     */
+    private void spillDiagnostics(final Report report, final LogHandler logger) {
+        File directory = new File(run.getRootDir(), REPORTS_DIRECTORY);
+        File file = new File(directory, URLEncoder.encode(report.getId(), StandardCharsets.UTF_8) + "-diagnostics.log");
+        
+        try {
+            Files.createDirectories(directory.toPath());
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+                Diagnostics diagnostics = report.getDiagnostics();
+                for (Severity severity : Severity.values()) {
+                    writer.printf("# %s: %d messages, %d not retained%n", severity, diagnostics.getCount(severity), 
+                            diagnostics.getDroppedCount(severity));
+                    diagnostics.getCategories(severity).forEach((category, count) -> 
+                            writer.printf("# %6d x %s%n", count, category));
+                    diagnostics.getSamples(severity).forEach(writer::println);
+                }
+            }
+            logger.log("Wrote diagnostics to '%s'", file);
+        }
+        catch (IOException exception) {
+            logger.log("Writing diagnostics to '%s' failed: %s", file, exception.getMessage());
+        }
+    }
 
-        if (prevBuild != null) {
-            List<ReportAction> prevReportActions = prevBuild.getActions(ReportAction.class);
-            Optional<ReportAction> prevReportAction = prevReportActions.stream()
-                    .filter(reportAction -> Objects.equals(reportAction.getResult().getReport().getId(), id))
-                    .findFirst();
+    /**
+     * Registers the colors of a report with colors in the {@link ColorRegistry} of the job. A report without colors 
+     * gets the registered colors of a previous report, remaining colors are derived from the ids.
+     *
+     * @param report
+     *          the scanned report
+     */
+    private void registerColors(final Report report) {
+        ColorRegistry registry = ColorRegistry.of(run.getParent(), report.getId());
+        
+        try {
+            if (report.hasColors()) {
+                registry.register(report.getColors());
+                return;
+            }
 
-            return prevReportAction
-                    .map(reportAction -> Optional.of(reportAction.getResult().getReport()))
-                    .orElseGet(() -> findPreviousReport(prevBuild, id));
+            report.logInfo("Report has no colors! Try to find the colors of previous reports.");
+            Map<String, String> colors = registry.read();
+            if (colors.isEmpty()) {
+                report.logInfo("No previous report with colors found. Colors will be derived from the ids.");
+            } else {
+                report.logInfo("Previous report has colors. Add it to this report.");
+                report.setColors(colors);
+            }
+        }
+        catch (IOException exception) {
+            report.logInfo("Can't access registered colors: %s", exception.getMessage());
         }
-
-        return Optional.empty();
     }
 }
@@ -0,0 +1,273 @@
+package io.jenkins.plugins.reporter;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.XmlFile;
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.model.ItemTableData;
+import jenkins.util.SystemProperties;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Caches the models of the {@link ReportDetails} views of completed builds: the JSON model of the pie chart, the
+ * data of the distribution table, and the sort orders of paged distribution tables. The report of a completed build
+ * does not change, so the models are computed once per build, report and item. Views of running builds are not
+ * cached.
+ *
+ * <p>
+ * The cache holds the models of at most {@link #CAPACITY} views, the least recently used view is evicted first. If
+ * enabled in the {@link ReportingConfiguration}, the models are also stored in the
+ * {@link ReportScanner#REPORTS_DIRECTORY reports directory} of the build, so they survive evictions and restarts.
+ * The stored models of a report are deleted when the report is pruned.
+ * </p>
+ */
+public final class ReportViewCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportViewCache.class.getName());
+
+    /** The maximum number of cached views. */
+    static final int CAPACITY = Math.max(1,
+            SystemProperties.getInteger(ReportViewCache.class.getName() + ".capacity", 500));
+
+    private static final String SUFFIX = ".views";
+
+    private static final ReportViewCache INSTANCE = new ReportViewCache();
+
+    private final Map<String, CachedView> views = new LinkedHashMap<String, CachedView>(16, 0.75f, true) {
+        private static final long serialVersionUID = 8265028740365491372L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CachedView> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    private ReportViewCache() {
+        // singleton
+    }
+
+    /**
+     * Returns the cache of the controller.
+     *
+     * @return the cache
+     */
+    public static ReportViewCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the JSON model of the pie chart of an item.
+     *
+     * @param run
+     *         the build
+     * @param result
+     *         the report of the build
+     * @param itemId
+     *         the ID of the item
+     * @param topItems
+     *         the number of items shown in the chart, a cached model with a different number is computed again
+     * @param model
+     *         computes the model if it is not cached
+     *
+     * @return the model as JSON
+     */
+    public String getPieChartModel(final Run<?, ?> run, final ReportResult result, final String itemId,
+            final int topItems, final Supplier<String> model) {
+        if (run.isBuilding()) {
+            return model.get();
+        }
+
+        CachedView view = getView(run, result, itemId);
+        synchronized (view) {
+            if (view.pieChartModel == null || view.pieChartTopItems != topItems) {
+                view.pieChartModel = model.get();
+                view.pieChartTopItems = topItems;
+                save(run, result, itemId, view);
+            }
+            return view.pieChartModel;
+        }
+    }
+
+    /**
+     * Returns the data of the distribution table of an item.
+     *
+     * @param run
+     *         the build
+     * @param result
+     *         the report of the build
+     * @param itemId
+     *         the ID of the item
+     * @param data
+     *         computes the data if it is not cached
+     *
+     * @return the table data
+     */
+    public ItemTableData getTableData(final Run<?, ?> run, final ReportResult result, final String itemId,
+            final Supplier<ItemTableData> data) {
+        if (run.isBuilding()) {
+            return data.get();
+        }
+
+        CachedView view = getView(run, result, itemId);
+        synchronized (view) {
+            if (view.tableData == null) {
+                view.tableData = data.get();
+                save(run, result, itemId, view);
+            }
+            return view.tableData;
+        }
+    }
+
+    /**
+     * Returns a sort order of the distribution table of an item. Sort orders are only cached in memory.
+     *
+     * @param run
+     *         the build
+     * @param result
+     *         the report of the build
+     * @param itemId
+     *         the ID of the item
+     * @param column
+     *         the column to sort by
+     * @param order
+     *         computes the sort order if it is not cached
+     *
+     * @return the positions of the rows in ascending order
+     * @see io.jenkins.plugins.reporter.model.ItemTableModel#createOrder(int)
+     */
+    public int[] getTableOrder(final Run<?, ?> run, final ReportResult result, final String itemId,
+            final int column, final Supplier<int[]> order) {
+        if (run.isBuilding()) {
+            return order.get();
+        }
+
+        CachedView view = getView(run, result, itemId);
+        synchronized (view) {
+            if (view.tableOrders == null) {
+                view.tableOrders = new HashMap<>();
+            }
+            return view.tableOrders.computeIfAbsent(column, key -> order.get());
+        }
+    }
+
+    /**
+     * Deletes the stored views of a report, e.g. after the report has been pruned.
+     *
+     * @param run
+     *         the build
+     * @param reportId
+     *         the ID of the report
+     */
+    public void remove(final Run<?, ?> run, final String reportId) {
+        Path directory = getDirectory(run, reportId);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, String.format("Can't delete stored views of report '%s' of %s",
+                    reportId, run), exception);
+        }
+    }
+
+    private CachedView getView(final Run<?, ?> run, final ReportResult result, final String itemId) {
+        // pruned reports are shown differently, so they must not share the views of the complete report
+        String key = String.join("\n", run.getExternalizableId(), String.valueOf(run.getTimeInMillis()),
+                result.getSummary().getId(), itemId, String.valueOf(result.isPruned()));
+        synchronized (views) {
+            CachedView view = views.get(key);
+            if (view != null) {
+                return view;
+            }
+        }
+
+        // the stored view is read without blocking the views of other requests
+        CachedView loaded = load(run, result, itemId);
+        synchronized (views) {
+            CachedView view = views.putIfAbsent(key, loaded);
+            return view != null ? view : loaded;
+        }
+    }
+
+    private CachedView load(final Run<?, ?> run, final ReportResult result, final String itemId) {
+        if (isPersistent(result)) {
+            XmlFile file = getFile(run, result.getSummary().getId(), itemId);
+            if (file.exists()) {
+                try {
+                    return (CachedView) file.read();
+                }
+                catch (IOException | ClassCastException exception) {
+                    LOGGER.log(Level.FINE, String.format("Can't read stored view of item '%s' of %s",
+                            itemId, run), exception);
+                }
+            }
+        }
+        return new CachedView();
+    }
+
+    private void save(final Run<?, ?> run, final ReportResult result, final String itemId, final CachedView view) {
+        if (!isPersistent(result)) {
+            return;
+        }
+
+        XmlFile file = getFile(run, result.getSummary().getId(), itemId);
+        try {
+            Files.createDirectories(file.getFile().getParentFile().toPath());
+            file.write(view);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, String.format("Can't store view of item '%s' of %s", itemId, run), exception);
+        }
+    }
+
+    private static boolean isPersistent(final ReportResult result) {
+        return !result.isPruned() && ReportingConfiguration.get().isPersistViews();
+    }
+
+    private static XmlFile getFile(final Run<?, ?> run, final String reportId, final String itemId) {
+        return new XmlFile(getDirectory(run, reportId).resolve(encode(itemId) + ".xml").toFile());
+    }
+
+    private static Path getDirectory(final Run<?, ?> run, final String reportId) {
+        return run.getRootDir().toPath()
+                .resolve(ReportScanner.REPORTS_DIRECTORY)
+                .resolve(encode(reportId) + SUFFIX);
+    }
+
+    private static String encode(final String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The models of a view, each model is computed when it is requested the first time.
+     */
+    private static final class CachedView implements Serializable {
+        private static final long serialVersionUID = 5320146290788417349L;
+
+        @CheckForNull
+        private String pieChartModel;
+        private int pieChartTopItems;
+        @CheckForNull
+        private ItemTableData tableData;
+        @CheckForNull
+        private transient Map<Integer, int[]> tableOrders;
+    }
+}
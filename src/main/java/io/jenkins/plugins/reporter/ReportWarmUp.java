@@ -0,0 +1,165 @@
+package io.jenkins.plugins.reporter;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.jenkins.plugins.reporter.index.TrendIndex;
+import io.jenkins.plugins.reporter.storage.ReportPruner;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Loads the last successful builds of recently active jobs in the background after the controller has been started, 
+ * so that the first visitors of the job pages do not have to wait for the build and the trend summary of its reports.
+ * These builds provide the {@link JobAction job actions} that are shown on the job pages. For each report of the
+ * build the {@link JobAction} computes its summary, either from the {@link TrendIndex} 
+ * of the report or from the summaries of all builds in the {@link HistoryCache}. The reports themselves are not 
+ * loaded. The warm-up is enabled in the {@link ReportingConfiguration}.
+ *
+ * <p>
+ * Jobs are recently active if one of their reports has been published within the last {@link #RECENT_DAYS} days.
+ * This is determined by the modification time of the files in the reports directory of the job, so inactive jobs
+ * are not loaded at all. The jobs are searched in the background as well. The most recently active jobs are loaded 
+ * first, by at most {@link #THREADS} threads with minimum priority.
+ * </p>
+ */
+public final class ReportWarmUp {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportWarmUp.class.getName());
+
+    /** The number of threads that load jobs concurrently. */
+    static final int THREADS = Math.max(1,
+            SystemProperties.getInteger(ReportWarmUp.class.getName() + ".threads", 2));
+
+    /** Jobs that published reports within this number of days are loaded. */
+    static final int RECENT_DAYS = SystemProperties.getInteger(ReportWarmUp.class.getName() + ".recentDays", 7);
+
+    private ReportWarmUp() {
+        // prevents instantiation
+    }
+
+    /**
+     * Starts the warm-up if it is enabled.
+     */
+    @Initializer(after = InitMilestone.JOB_CONFIG_ADAPTED)
+    public static void start() {
+        if (!ReportingConfiguration.get().isWarmUpReports()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, new LowPriorityThreadFactory(
+                new NamingThreadFactory(new DaemonThreadFactory(), ReportWarmUp.class.getSimpleName())));
+        executor.execute(() -> {
+            try {
+                List<RecentJob> jobs = findRecentJobs();
+                LOGGER.log(Level.FINE, "Warming up reports of {0} recently active jobs", jobs.size());
+                for (RecentJob job : jobs) {
+                    executor.execute(() -> warmUp(job.job));
+                }
+            }
+            finally {
+                executor.shutdown();
+            }
+        });
+    }
+
+    private static List<RecentJob> findRecentJobs() {
+        long recent = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RECENT_DAYS);
+
+        List<RecentJob> jobs = new ArrayList<>();
+        for (Job<?, ?> job : Jenkins.get().allItems(Job.class)) {
+            long lastPublished = getLastPublished(job);
+            if (lastPublished >= recent) {
+                jobs.add(new RecentJob(job, lastPublished));
+            }
+        }
+        jobs.sort(Comparator.comparingLong((RecentJob job) -> job.lastPublished).reversed());
+        return jobs;
+    }
+
+    private static long getLastPublished(final Job<?, ?> job) {
+        Path directory = job.getRootDir().toPath().resolve(ReportScanner.REPORTS_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> !file.getFileName().toString().startsWith(ReportPruner.PRUNED_FILE))
+                    .mapToLong(file -> file.toFile().lastModified()).max().orElse(0);
+        }
+        catch (IOException exception) {
+            return 0;
+        }
+    }
+
+    private static void warmUp(final Job<?, ?> job) {
+        try {
+            // Jenkins shows the project actions of the last successful build
+            Run<?, ?> lastSuccessfulBuild = job.getLastSuccessfulBuild();
+            if (lastSuccessfulBuild == null) {
+                return;
+            }
+
+            for (ReportAction action : lastSuccessfulBuild.getActions(ReportAction.class)) {
+                for (Action projectAction : action.getProjectActions()) {
+                    if (projectAction instanceof JobAction) {
+                        // computes the summary of the trend and keeps it in the action of the build
+                        ((JobAction) projectAction).isTrendVisible();
+                    }
+                }
+            }
+        }
+        catch (RuntimeException exception) {
+            LOGGER.log(Level.FINE, String.format("Can't warm up reports of %s", job.getFullName()), exception);
+        }
+    }
+
+    /**
+     * A job with the time of its last published report.
+     */
+    private static final class RecentJob {
+        private final Job<?, ?> job;
+        private final long lastPublished;
+
+        RecentJob(final Job<?, ?> job, final long lastPublished) {
+            this.job = job;
+            this.lastPublished = lastPublished;
+        }
+    }
+
+    /**
+     * Creates threads with minimum priority, so that the warm-up does not slow down request handling and builds.
+     */
+    private static final class LowPriorityThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate;
+
+        LowPriorityThreadFactory(final ThreadFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = delegate.newThread(runnable);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    }
+}
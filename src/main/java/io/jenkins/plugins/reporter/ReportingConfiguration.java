@@ -0,0 +1,292 @@
+package io.jenkins.plugins.reporter;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.util.ListBoxModel;
+import io.jenkins.plugins.reporter.charts.TrendDownsampling;
+import io.jenkins.plugins.reporter.storage.DetailRetention;
+import io.jenkins.plugins.reporter.storage.ReportStorage;
+import io.jenkins.plugins.reporter.tasks.PostPublishQueue;
+import io.jenkins.plugins.util.JenkinsFacade;
+import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.verb.POST;
+
+/**
+ * Global configuration of the nested data reporting plugin.
+ */
+@Extension
+@Symbol("nestedDataReporting")
+public class ReportingConfiguration extends GlobalConfiguration {
+
+    private static final JenkinsFacade JENKINS = new JenkinsFacade();
+
+    private static final int DEFAULT_CHART_TOP_ITEMS = 20;
+
+    private ReportStorage storage = ReportStorage.EXTERNAL;
+
+    private boolean compressReports = true;
+
+    private int detailBuilds;
+
+    private int detailDays;
+
+    private boolean warmUpReports;
+
+    private boolean persistViews;
+
+    private TrendDownsampling trendDownsampling = TrendDownsampling.LTTB;
+
+    private int chartTopItems = DEFAULT_CHART_TOP_ITEMS;
+
+    /**
+     * Creates the global configuration and loads the initial values from the corresponding XML file.
+     */
+    public ReportingConfiguration() {
+        super();
+
+        load();
+    }
+
+    /**
+     * Returns the singleton instance of this {@link ReportingConfiguration}.
+     *
+     * @return the singleton instance
+     */
+    public static ReportingConfiguration get() {
+        return GlobalConfiguration.all().get(ReportingConfiguration.class);
+    }
+
+    @NonNull
+    @Override
+    public String getDisplayName() {
+        return Messages.Configuration_DisplayName();
+    }
+
+    /**
+     * Returns where newly published reports are stored.
+     *
+     * @return the storage
+     */
+    public ReportStorage getStorage() {
+        return storage == null || !storage.isSelectable() ? ReportStorage.EXTERNAL : storage;
+    }
+
+    /**
+     * Sets where newly published reports are stored. Reports of existing builds are not changed.
+     *
+     * @param storage
+     *         the storage
+     */
+    @DataBoundSetter
+    public void setStorage(final ReportStorage storage) {
+        this.storage = storage;
+
+        save();
+    }
+
+    /**
+     * Returns whether reports that are stored in separate files are compressed.
+     *
+     * @return {@code true} if the files are compressed with GZIP, {@code false} otherwise
+     */
+    public boolean isCompressReports() {
+        return compressReports;
+    }
+
+    /**
+     * Sets whether reports that are stored in separate files are compressed.
+     *
+     * @param compressReports
+     *         {@code true} to compress the files with GZIP, {@code false} otherwise
+     */
+    @DataBoundSetter
+    public void setCompressReports(final boolean compressReports) {
+        this.compressReports = compressReports;
+
+        save();
+    }
+
+    /**
+     * Returns the number of latest builds of a job whose reports are kept with all details.
+     *
+     * @return the number of builds, 0 if the number of builds is not limited
+     */
+    public int getDetailBuilds() {
+        return detailBuilds;
+    }
+
+    /**
+     * Sets the number of latest builds of a job whose reports are kept with all details.
+     *
+     * @param detailBuilds
+     *         the number of builds, 0 if the number of builds is not limited
+     */
+    @DataBoundSetter
+    public void setDetailBuilds(final int detailBuilds) {
+        this.detailBuilds = detailBuilds;
+
+        save();
+    }
+
+    /**
+     * Returns the number of days the reports of a build are kept with all details.
+     *
+     * @return the number of days, 0 if the age of builds is not limited
+     */
+    public int getDetailDays() {
+        return detailDays;
+    }
+
+    /**
+     * Sets the number of days the reports of a build are kept with all details.
+     *
+     * @param detailDays
+     *         the number of days, 0 if the age of builds is not limited
+     */
+    @DataBoundSetter
+    public void setDetailDays(final int detailDays) {
+        this.detailDays = detailDays;
+
+        save();
+    }
+
+    /**
+     * Returns whether the reports of recently active jobs are loaded in the background after startup.
+     *
+     * @return {@code true} if the reports are loaded after startup, {@code false} otherwise
+     * @see ReportWarmUp
+     */
+    public boolean isWarmUpReports() {
+        return warmUpReports;
+    }
+
+    /**
+     * Sets whether the reports of recently active jobs are loaded in the background after startup.
+     *
+     * @param warmUpReports
+     *         {@code true} to load the reports after startup, {@code false} otherwise
+     */
+    @DataBoundSetter
+    public void setWarmUpReports(final boolean warmUpReports) {
+        this.warmUpReports = warmUpReports;
+
+        save();
+    }
+
+    /**
+     * Returns whether the cached chart and table models of completed builds are stored in the build folders.
+     *
+     * @return {@code true} if the models are stored, {@code false} if they are only cached in memory
+     * @see ReportViewCache
+     */
+    public boolean isPersistViews() {
+        return persistViews;
+    }
+
+    /**
+     * Sets whether the cached chart and table models of completed builds are stored in the build folders.
+     *
+     * @param persistViews
+     *         {@code true} to store the models, {@code false} to cache them only in memory
+     */
+    @DataBoundSetter
+    public void setPersistViews(final boolean persistViews) {
+        this.persistViews = persistViews;
+
+        save();
+    }
+
+    /**
+     * Returns how the points of trend charts are reduced if the history contains more builds than the chart can show.
+     *
+     * @return the downsampling
+     * @see io.jenkins.plugins.reporter.charts.TrendDownsampler
+     */
+    public TrendDownsampling getTrendDownsampling() {
+        return trendDownsampling == null ? TrendDownsampling.LTTB : trendDownsampling;
+    }
+
+    /**
+     * Sets how the points of trend charts are reduced if the history contains more builds than the chart can show.
+     *
+     * @param trendDownsampling
+     *         the downsampling
+     */
+    @DataBoundSetter
+    public void setTrendDownsampling(final TrendDownsampling trendDownsampling) {
+        this.trendDownsampling = trendDownsampling;
+
+        save();
+    }
+
+    /**
+     * Returns the number of items that are shown in pie charts and trend charts. The items with the largest totals,
+     * or the largest values in the latest build, are shown, all other items are summed up as "Other".
+     *
+     * @return the number of items, 0 to show all items
+     */
+    public int getChartTopItems() {
+        return Math.max(0, chartTopItems);
+    }
+
+    /**
+     * Sets the number of items that are shown in pie charts and trend charts.
+     *
+     * @param chartTopItems
+     *         the number of items, 0 to show all items
+     */
+    @DataBoundSetter
+    public void setChartTopItems(final int chartTopItems) {
+        this.chartTopItems = chartTopItems;
+
+        save();
+    }
+
+    /**
+     * Returns the retention of report details for jobs without a
+     * {@link io.jenkins.plugins.reporter.storage.ReportRetentionProperty}.
+     *
+     * @return the retention
+     */
+    public DetailRetention getDetailRetention() {
+        return new DetailRetention(detailBuilds, detailDays);
+    }
+
+    /**
+     * Returns the queue of the post-publish tasks, to show its statistics.
+     *
+     * @return the queue
+     */
+    public PostPublishQueue getPostPublishQueue() {
+        return PostPublishQueue.get();
+    }
+
+    // called by jelly view
+    @POST
+    public ListBoxModel doFillStorageItems() {
+        ListBoxModel model = new ListBoxModel();
+        if (JENKINS.hasPermission(Jenkins.ADMINISTER)) {
+            for (ReportStorage value : ReportStorage.values()) {
+                if (value.isSelectable()) {
+                    model.add(value.getDisplayName(), value.name());
+                }
+            }
+        }
+        return model;
+    }
+
+    // called by jelly view
+    @POST
+    public ListBoxModel doFillTrendDownsamplingItems() {
+        ListBoxModel model = new ListBoxModel();
+        if (JENKINS.hasPermission(Jenkins.ADMINISTER)) {
+            for (TrendDownsampling value : TrendDownsampling.values()) {
+                model.add(value.getDisplayName(), value.name());
+            }
+        }
+        return model;
+    }
+}
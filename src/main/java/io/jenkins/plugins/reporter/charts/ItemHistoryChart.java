@@ -2,12 +2,16 @@ package io.jenkins.plugins.reporter.charts;
 
 import edu.hm.hafner.echarts.*;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import io.jenkins.plugins.reporter.ReportResult;
+import io.jenkins.plugins.reporter.Messages;
 import io.jenkins.plugins.reporter.model.Item;
 import io.jenkins.plugins.reporter.model.Report;
+import io.jenkins.plugins.reporter.model.ReportSummary;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Builds the Java side model for a trend chart showing the accurate, manually and incorrect parts of an asset or report.
@@ -20,6 +24,42 @@ import java.util.Optional;
  */
 public class ItemHistoryChart {
 
+    @Nullable
+    private final TrendDownsampler downsampler;
+
+    private final int topItems;
+
+    /**
+     * Creates a chart that shows one point per build.
+     */
+    public ItemHistoryChart() {
+        this(null);
+    }
+
+    /**
+     * Creates a chart whose points are reduced by the given {@link TrendDownsampler}.
+     *
+     * @param downsampler
+     *         the downsampler, or {@code null} to show one point per build
+     */
+    public ItemHistoryChart(@Nullable final TrendDownsampler downsampler) {
+        this(downsampler, 0);
+    }
+
+    /**
+     * Creates a chart whose points are reduced by the given {@link TrendDownsampler} and that shows only the series
+     * with the largest values in the latest build. The other series are summed up in one series.
+     *
+     * @param downsampler
+     *         the downsampler, or {@code null} to show one point per build
+     * @param topItems
+     *         the number of series to show, 0 to show all series
+     */
+    public ItemHistoryChart(@Nullable final TrendDownsampler downsampler, final int topItems) {
+        this.downsampler = downsampler;
+        this.topItems = topItems;
+    }
+
     /**
      * Creates the chart for the specified results.
      *
@@ -31,46 +71,108 @@ public class ItemHistoryChart {
      * @param builder
      *          the {@link SeriesBuilder} to use for the model. {@link io.jenkins.plugins.reporter.model.ItemSeriesBuilder} for each asset on
      *          build level or {@link io.jenkins.plugins.reporter.model.ReportSeriesBuilder} for the aggregated result on job level.
+     *          On job level the {@link io.jenkins.plugins.reporter.index.TrendPointSeriesBuilder} draws the trend from 
+     *          the {@link io.jenkins.plugins.reporter.index.TrendIndex} of the job.
      * @param report
      *          the report
+     * @param <T>
+     *          the type of the results
      *
      * @return the chart model, ready to be serialized to JSON
      */
-    public LinesChartModel create(final Iterable<? extends BuildResult<ReportResult>> results,
-                                  final ChartModelConfiguration configuration, SeriesBuilder<ReportResult> builder,
+    public <T> LinesChartModel create(final Iterable<? extends BuildResult<T>> results,
+                                  final ChartModelConfiguration configuration, SeriesBuilder<T> builder,
                                   Report report, @Nullable List<Item> items) {
+        return create(results, configuration, builder, id -> getItemName(items, id), report::getColor);
+    }
+
+    /**
+     * Creates the chart for the specified results. The labels and colors of the series are taken from the given 
+     * {@link ReportSummary}, so the report does not have to be loaded.
+     *
+     * @param results
+     *         the results to render - these results must be provided in descending order, i.e. the current build is
+     *         the head of the list, then the previous builds, and so on
+     * @param configuration
+     *         the chart configuration to be used
+     * @param builder
+     *          the {@link SeriesBuilder} to use for the model
+     * @param summary
+     *          the summary of the latest report
+     * @param <T>
+     *          the type of the results
+     *
+     * @return the chart model, ready to be serialized to JSON
+     */
+    public <T> LinesChartModel create(final Iterable<? extends BuildResult<T>> results,
+                                  final ChartModelConfiguration configuration, SeriesBuilder<T> builder,
+                                  ReportSummary summary) {
+        return create(results, configuration, builder, summary::getSeriesLabel, summary::getSeriesColor);
+    }
 
-        LinesDataSet dataSet = builder.createDataSet(configuration, results);
+    private <T> LinesChartModel create(final Iterable<? extends BuildResult<T>> results,
+                                  final ChartModelConfiguration configuration, SeriesBuilder<T> builder,
+                                  Function<String, String> labels, Function<String, String> colors) {
+
+        LinesDataSet dataSet = downsampler == null ? builder.createDataSet(configuration, results)
+                : downsampler.createDataSet(builder, results, configuration);
         LinesChartModel model = new LinesChartModel(dataSet);
 
         if (!dataSet.isEmpty()) {
             model.useContinuousRangeAxis();
             model.setRangeMin(0);
 
-            dataSet.getDataSetIds().forEach(id -> {
-
-                Optional<Item> item = items != null ?
-                        items.stream().filter(i -> i.getId().equals(id)).findFirst() : Optional.empty();
-
-                if (item.isPresent()) {
-                    // Line Series for items with only one result
-                    Item i = item.get();
-                    LineSeries series = new LineSeries(i.getName(), report.getColor(i.getId()),
-                            LineSeries.StackedMode.STACKED, LineSeries.FilledMode.FILLED);
-                    series.addAll(dataSet.getSeries(i.getId()));
-                    model.addSeries(series);
-                } else {
-                    // Line Series for items with multiple results
-                    LineSeries series = new LineSeries(id, report.getColor(id),
-                            LineSeries.StackedMode.STACKED, LineSeries.FilledMode.FILLED);
-                    series.addAll(dataSet.getSeries(id));
-                    model.addSeries(series);
-                }
+            List<String> ids = new ArrayList<>(dataSet.getDataSetIds());
+            List<String> others = new ArrayList<>();
+            if (topItems > 0 && ids.size() > topItems) {
+                ids.sort(Comparator.comparingInt((String id) -> getLatestValue(dataSet, id)).reversed());
+                others.addAll(ids.subList(topItems, ids.size()));
+                ids = ids.subList(0, topItems);
+            }
 
+            ids.forEach(id -> {
+                LineSeries series = new LineSeries(labels.apply(id), colors.apply(id),
+                        LineSeries.StackedMode.STACKED, LineSeries.FilledMode.FILLED);
+                series.addAll(dataSet.getSeries(id));
+                model.addSeries(series);
             });
 
+            if (!others.isEmpty()) {
+                LineSeries series = new LineSeries(Messages.Chart_Other(), ItemPieChart.OTHER_COLOR,
+                        LineSeries.StackedMode.STACKED, LineSeries.FilledMode.FILLED);
+                series.addAll(sumSeries(dataSet, others));
+                model.addSeries(series);
+            }
+
         }
 
         return model;
     }
+
+    /**
+     * Returns the name of the item with the given ID for series of items with only one result. Series of items with
+     * multiple results are labeled with their ID.
+     */
+    private static String getItemName(@Nullable final List<Item> items, final String id) {
+        if (items == null) {
+            return id;
+        }
+        return items.stream().filter(i -> i.getId().equals(id)).findFirst().map(Item::getName).orElse(id);
+    }
+
+    private static int getLatestValue(final LinesDataSet dataSet, final String id) {
+        List<Integer> series = dataSet.getSeries(id);
+        return series.isEmpty() ? 0 : series.get(series.size() - 1);
+    }
+
+    private static List<Integer> sumSeries(final LinesDataSet dataSet, final List<String> ids) {
+        List<Integer> sum = new ArrayList<>(Collections.nCopies(dataSet.getDomainAxisSize(), 0));
+        for (String id : ids) {
+            List<Integer> series = dataSet.getSeries(id);
+            for (int i = 0; i < series.size() && i < sum.size(); i++) {
+                sum.set(i, sum.get(i) + series.get(i));
+            }
+        }
+        return sum;
+    }
 }
@@ -2,9 +2,14 @@ package io.jenkins.plugins.reporter.charts;
 
 import edu.hm.hafner.echarts.PieChartModel;
 import edu.hm.hafner.echarts.PieData;
+import io.jenkins.plugins.reporter.Messages;
 import io.jenkins.plugins.reporter.model.Item;
 import io.jenkins.plugins.reporter.model.Report;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * Builds the model for a pie chart showing the attributes of an item.
  *
@@ -12,6 +17,29 @@ import io.jenkins.plugins.reporter.model.Report;
  */
 public class ItemPieChart {
 
+    /** The color of the slice that contains the items that are not shown. */
+    static final String OTHER_COLOR = "#9E9E9E";
+
+    private final int topItems;
+
+    /**
+     * Creates a chart that shows a slice for each item.
+     */
+    public ItemPieChart() {
+        this(0);
+    }
+
+    /**
+     * Creates a chart that shows a slice for the items with the largest totals only. The other items are shown as one 
+     * slice.
+     *
+     * @param topItems
+     *         the number of items to show, 0 to show all items
+     */
+    public ItemPieChart(final int topItems) {
+        this.topItems = topItems;
+    }
+
     /**
      * Creates the chart for the specified item.
      *
@@ -27,7 +55,21 @@ public class ItemPieChart {
         PieChartModel model = new PieChartModel(item.getId());
 
         if (item.getResult().size() == 1) {
-            item.getItems().forEach(i -> model.add(new PieData(i.getName(), i.getTotal()), report.getColor(i.getId())));
+            List<Item> items = item.getItems();
+            int other = 0;
+            boolean truncated = topItems > 0 && items.size() > topItems;
+            if (truncated) {
+                // the totals of the items have been computed when the report has been frozen
+                List<Item> sorted = new ArrayList<>(items);
+                sorted.sort(Comparator.comparingInt(Item::getTotal).reversed());
+                items = sorted.subList(0, topItems);
+                other = sorted.subList(topItems, sorted.size()).stream().mapToInt(Item::getTotal).sum();
+            }
+            
+            items.forEach(i -> model.add(new PieData(i.getName(), i.getTotal()), report.getColor(i.getId())));
+            if (truncated) {
+                model.add(new PieData(Messages.Chart_Other(), other), OTHER_COLOR);
+            }
         } else {
             item.getResult().forEach((key, value) -> model.add(new PieData(key, value),
                     report.getColor(key)));
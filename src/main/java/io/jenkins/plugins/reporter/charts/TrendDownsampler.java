@@ -0,0 +1,250 @@
+package io.jenkins.plugins.reporter.charts;
+
+import edu.hm.hafner.echarts.BuildResult;
+import edu.hm.hafner.echarts.ChartModelConfiguration;
+import edu.hm.hafner.echarts.LinesDataSet;
+import edu.hm.hafner.echarts.SeriesBuilder;
+import io.jenkins.plugins.reporter.ReportingConfiguration;
+import jenkins.util.SystemProperties;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reduces the points of a trend chart, so that the size of the chart model is bounded by the width of the chart
+ * instead of the number of builds. Builds are either aggregated by day, week or month if the x-axis shows dates, or
+ * selected with the largest-triangle-three-buckets algorithm. In any case the chart contains at most one point per
+ * {@link #PIXELS_PER_POINT} pixels.
+ *
+ * <p>
+ * The downsampling is configured in the {@link ReportingConfiguration} and can be overridden by the property
+ * {@code downsampling} of the chart configuration. The width of the chart is taken from the property {@code width}.
+ * </p>
+ */
+public class TrendDownsampler {
+
+    /** The number of pixels of the chart per point. */
+    static final int PIXELS_PER_POINT = 2;
+
+    /** The width of charts that do not send their width. */
+    static final int DEFAULT_WIDTH = Math.max(PIXELS_PER_POINT,
+            SystemProperties.getInteger(TrendDownsampler.class.getName() + ".defaultWidth", 1000));
+
+    /** The minimum number of points, the first and the last point are always kept. */
+    private static final int MIN_POINTS = 3;
+
+    private final TrendDownsampling downsampling;
+
+    private final int width;
+
+    private final String configuration;
+
+    /**
+     * Creates a new instance of {@link TrendDownsampler}.
+     *
+     * @param downsampling
+     *         the downsampling to use
+     * @param width
+     *         the width of the chart in pixels
+     * @param configuration
+     *         the chart configuration as JSON
+     */
+    public TrendDownsampler(final TrendDownsampling downsampling, final int width, final String configuration) {
+        this.downsampling = downsampling;
+        this.width = width;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Creates a downsampler for the given chart configuration.
+     *
+     * @param configuration
+     *         the chart configuration as JSON, as sent by the trend chart
+     *
+     * @return the downsampler
+     */
+    public static TrendDownsampler fromJson(final String configuration) {
+        TrendDownsampling downsampling = ReportingConfiguration.get().getTrendDownsampling();
+        int width = DEFAULT_WIDTH;
+        try {
+            JSONObject json = JSONObject.fromObject(configuration);
+            downsampling = TrendDownsampling.valueOf(json.optString("downsampling", downsampling.name()));
+            width = Math.max(PIXELS_PER_POINT, json.optInt("width", DEFAULT_WIDTH));
+        }
+        catch (JSONException | IllegalArgumentException exception) {
+            // use the defaults
+        }
+        return new TrendDownsampler(downsampling, width, configuration);
+    }
+
+    /**
+     * Creates the data set of the chart and reduces its points.
+     *
+     * @param builder
+     *         the builder of the series
+     * @param results
+     *         the results of the builds, starting with the latest build
+     * @param modelConfiguration
+     *         the parsed chart configuration
+     * @param <T>
+     *         the type of the results
+     *
+     * @return the reduced data set
+     */
+    public <T> LinesDataSet createDataSet(final SeriesBuilder<T> builder,
+            final Iterable<? extends BuildResult<T>> results, final ChartModelConfiguration modelConfiguration) {
+        if (downsampling == TrendDownsampling.NONE) {
+            return builder.createDataSet(modelConfiguration, results);
+        }
+
+        if (downsampling.isTimeBucket() && modelConfiguration.getAxisType() == ChartModelConfiguration.AxisType.DATE) {
+            return reduce(aggregateByTime(builder, results));
+        }
+
+        return reduce(builder.createDataSet(modelConfiguration, results));
+    }
+
+    /**
+     * Creates one point per build and averages the values of the builds in each time bucket.
+     */
+    private <T> LinesDataSet aggregateByTime(final SeriesBuilder<T> builder,
+            final Iterable<? extends BuildResult<T>> results) {
+        Map<Integer, LocalDate> days = new HashMap<>();
+        List<BuildResult<T>> builds = new ArrayList<>();
+        for (BuildResult<T> result : results) {
+            builds.add(result);
+            days.put(result.getBuild().getNumber(), LocalDate.ofInstant(
+                    Instant.ofEpochSecond(result.getBuild().getBuildTime()), ZoneId.systemDefault()));
+        }
+
+        LinesDataSet perBuild = builder.createDataSet(createBuildConfiguration(), builds);
+        List<Integer> numbers = perBuild.getBuildNumbers();
+
+        Map<LocalDate, Bucket> buckets = new TreeMap<>();
+        for (int i = 0; i < perBuild.getDomainAxisSize(); i++) {
+            LocalDate day = days.get(numbers.get(i));
+            if (day != null) {
+                buckets.computeIfAbsent(downsampling.getBucket(day), key -> new Bucket())
+                        .add(numbers.get(i), getValues(perBuild, i));
+            }
+        }
+
+        LinesDataSet dataSet = new LinesDataSet();
+        buckets.forEach((bucket, values) -> dataSet.add(bucket.toString(), values.getAverage(), values.build));
+        return dataSet;
+    }
+
+    /**
+     * Returns the configuration with one point per build, the builds are aggregated by this downsampler.
+     */
+    private ChartModelConfiguration createBuildConfiguration() {
+        try {
+            JSONObject json = JSONObject.fromObject(configuration);
+            json.element("buildAsDomain", true);
+            return ChartModelConfiguration.fromJson(json.toString());
+        }
+        catch (JSONException exception) {
+            return new ChartModelConfiguration(ChartModelConfiguration.AxisType.BUILD);
+        }
+    }
+
+    /**
+     * Selects at most one point per {@link #PIXELS_PER_POINT} pixels with the largest-triangle-three-buckets
+     * algorithm. The sum of all series is used as the value of a point.
+     */
+    private LinesDataSet reduce(final LinesDataSet dataSet) {
+        int size = dataSet.getDomainAxisSize();
+        int threshold = Math.max(MIN_POINTS, width / PIXELS_PER_POINT);
+        if (size <= threshold) {
+            return dataSet;
+        }
+
+        double[] totals = new double[size];
+        for (int i = 0; i < size; i++) {
+            totals[i] = getValues(dataSet, i).values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        List<Integer> selected = new ArrayList<>();
+        selected.add(0);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int previous = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = Math.min((int) Math.floor((bucket + 1) * bucketSize) + 1, size - 1);
+
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double nextX = 0;
+            double nextY = 0;
+            for (int i = end; i < nextEnd; i++) {
+                nextX += i;
+                nextY += totals[i];
+            }
+            int nextCount = Math.max(1, nextEnd - end);
+            nextX /= nextCount;
+            nextY /= nextCount;
+
+            int best = start;
+            double bestArea = -1;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((previous - nextX) * (totals[i] - totals[previous])
+                        - (previous - i) * (nextY - totals[previous]));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = i;
+                }
+            }
+            selected.add(best);
+            previous = best;
+        }
+        selected.add(size - 1);
+
+        List<String> labels = dataSet.getDomainAxisLabels();
+        List<Integer> numbers = dataSet.getBuildNumbers();
+        LinesDataSet reduced = new LinesDataSet();
+        for (int index : selected) {
+            reduced.add(labels.get(index), getValues(dataSet, index), numbers.get(index));
+        }
+        return reduced;
+    }
+
+    /**
+     * Returns the values of all series at the given position of the x-axis.
+     */
+    private static Map<String, Integer> getValues(final LinesDataSet dataSet, final int index) {
+        Map<String, Integer> values = new HashMap<>();
+        for (String id : dataSet.getDataSetIds()) {
+            List<Integer> series = dataSet.getSeries(id);
+            values.put(id, index < series.size() ? series.get(index) : 0);
+        }
+        return values;
+    }
+
+    /**
+     * The builds of a time bucket.
+     */
+    private static final class Bucket {
+        private final Map<String, Integer> totals = new HashMap<>();
+        private int count;
+        private int build;
+
+        void add(final int number, final Map<String, Integer> values) {
+            values.forEach((id, value) -> totals.merge(id, value, Integer::sum));
+            count++;
+            build = Math.max(build, number);
+        }
+
+        Map<String, Integer> getAverage() {
+            Map<String, Integer> average = new HashMap<>();
+            totals.forEach((id, total) -> average.put(id, total / count));
+            return average;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.jenkins.plugins.reporter.charts;
+
+import io.jenkins.plugins.reporter.Messages;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Defines how the points of a trend chart are reduced if the history contains more builds than the chart can show.
+ */
+public enum TrendDownsampling {
+
+    /** All points are shown. */
+    NONE,
+    /** The points are selected with the largest-triangle-three-buckets algorithm. */
+    LTTB,
+    /** The values of the builds of a day are averaged, if the x-axis shows dates. */
+    DAY,
+    /** The values of the builds of a week are averaged, if the x-axis shows dates. */
+    WEEK,
+    /** The values of the builds of a month are averaged, if the x-axis shows dates. */
+    MONTH;
+
+    /**
+     * Returns whether the builds are aggregated by time.
+     *
+     * @return {@code true} if the builds are aggregated by time, {@code false} otherwise
+     */
+    public boolean isTimeBucket() {
+        return this == DAY || this == WEEK || this == MONTH;
+    }
+
+    /**
+     * Returns the first day of the time bucket that contains the given day.
+     *
+     * @param date
+     *         the day of a build
+     *
+     * @return the first day of the bucket
+     */
+    LocalDate getBucket(final LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * Returns the human-readable name of this downsampling.
+     *
+     * @return the name
+     */
+    public String getDisplayName() {
+        switch (this) {
+            case NONE:
+                return Messages.Downsampling_None();
+            case LTTB:
+                return Messages.Downsampling_Lttb();
+            case DAY:
+                return Messages.Downsampling_Day();
+            case WEEK:
+                return Messages.Downsampling_Week();
+            default:
+                return Messages.Downsampling_Month();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.jenkins.plugins.reporter.charts;
+
+import hudson.model.Job;
+import io.jenkins.plugins.reporter.ReportingConfiguration;
+import io.jenkins.plugins.reporter.model.HistoryCache;
+import jenkins.util.SystemProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Caches the serialized models of trend charts, so that unchanged trends are not computed and serialized again on
+ * each request. Each model is stored with a version token that consists of the latest build of the job, the
+ * {@link HistoryCache#getVersion version of the report history}, and a hash of the chart configuration and the
+ * global chart settings. A cached model
+ * is used as long as its token is unchanged.
+ *
+ * <p>
+ * Clients that already have a model can send its token to get only the new token if the trend is unchanged, see
+ * {@link #createResponse(String, String)}. The cache holds at most {@link #CAPACITY} models, the least recently used
+ * model is evicted first.
+ * </p>
+ */
+public final class TrendModelCache {
+
+    /** The maximum number of cached models. */
+    static final int CAPACITY = Math.max(1,
+            SystemProperties.getInteger(TrendModelCache.class.getName() + ".capacity", 200));
+
+    private static final TrendModelCache INSTANCE = new TrendModelCache();
+
+    private final Map<String, CachedModel> models = new LinkedHashMap<String, CachedModel>(16, 0.75f, true) {
+        private static final long serialVersionUID = -3862117945623310672L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CachedModel> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    private TrendModelCache() {
+        // singleton
+    }
+
+    /**
+     * Returns the cache of the controller.
+     *
+     * @return the cache
+     */
+    public static TrendModelCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates the version token of a trend of the report with the given ID.
+     *
+     * @param job
+     *         the job
+     * @param reportId
+     *         the ID of the report
+     * @param configuration
+     *         the chart configuration as JSON
+     *
+     * @return the version token
+     */
+    public static String createVersion(final Job<?, ?> job, final String reportId, final String configuration) {
+        int latestBuild = job.getLastBuild() == null ? 0 : job.getLastBuild().getNumber();
+        ReportingConfiguration global = ReportingConfiguration.get();
+        return String.format("%d-%d-%08x", latestBuild, HistoryCache.get().getVersion(job, reportId),
+                Objects.hash(configuration, global.getTrendDownsampling(), global.getChartTopItems()));
+    }
+
+    /**
+     * Returns the cached model of the trend, or computes and caches it if the version has changed.
+     *
+     * @param key
+     *         identifies the trend, e.g. the job, report and item
+     * @param configuration
+     *         the chart configuration as JSON
+     * @param version
+     *         the current version token of the trend
+     * @param model
+     *         computes the model as JSON
+     *
+     * @return the model as JSON
+     */
+    public String getModel(final String key, final String configuration, final String version,
+            final Supplier<String> model) {
+        String cacheKey = key + '\n' + configuration;
+        synchronized (models) {
+            CachedModel cached = models.get(cacheKey);
+            if (cached != null && cached.version.equals(version)) {
+                return cached.json;
+            }
+        }
+
+        String json = model.get();
+        synchronized (models) {
+            models.put(cacheKey, new CachedModel(version, json));
+        }
+        return json;
+    }
+
+    /**
+     * Creates the response of a conditional trend request.
+     *
+     * @param version
+     *         the current version token of the trend
+     * @param model
+     *         the model as JSON, or {@code null} if the client already has the current model
+     *
+     * @return the response as JSON, with the properties {@code version} and {@code model}
+     */
+    public static String createResponse(final String version, final String model) {
+        if (model == null) {
+            return String.format("{\"version\":\"%s\"}", version);
+        }
+        return String.format("{\"version\":\"%s\",\"model\":%s}", version, model);
+    }
+
+    /**
+     * A serialized model with the version it has been computed for.
+     */
+    private static final class CachedModel {
+        private final String version;
+        private final String json;
+
+        CachedModel(final String version, final String json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.jenkins.plugins.reporter.index;
+
+import hudson.model.Job;
+import io.jenkins.plugins.reporter.ReportScanner;
+import io.jenkins.plugins.reporter.util.PathLocks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The colors that have been defined by the latest report with colors of a job. Reports without colors use these
+ * colors, so the colors of a report file need to be defined only once. Colors that are not defined at all are
+ * derived from the IDs (see {@link io.jenkins.plugins.reporter.model.ColorPalette#getColor(String)}) and are not
+ * stored.
+ *
+ * <p>
+ * The colors are stored in the {@link ReportScanner#REPORTS_DIRECTORY reports directory} of the job, one line per
+ * color. So the colors are found without loading previous builds.
+ * </p>
+ */
+public final class ColorRegistry {
+
+    private static final String SUFFIX = ".colors";
+    private static final String ASSIGNMENT = "=";
+
+    /**
+     * Guards the modifications of each registry file, they only happen when reports are published. Registering the
+     * colors of one report does not block the registries of other reports.
+     */
+    private static final PathLocks LOCKS = new PathLocks();
+
+    private final Path file;
+
+    private ColorRegistry(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the registry for the report with the given ID in the given job.
+     *
+     * @param job
+     *         the job
+     * @param reportId
+     *         the ID of the report
+     *
+     * @return the registry
+     */
+    public static ColorRegistry of(final Job<?, ?> job, final String reportId) {
+        return new ColorRegistry(job.getRootDir().toPath()
+                .resolve(ReportScanner.REPORTS_DIRECTORY)
+                .resolve(encode(reportId) + SUFFIX));
+    }
+
+    /**
+     * Reads the registered colors.
+     *
+     * @return the colors by ID, empty if no report of the job defined colors
+     * @throws IOException
+     *         if the registry cannot be read
+     */
+    public Map<String, String> read() throws IOException {
+        Map<String, String> colors = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return colors;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] entry = line.split(ASSIGNMENT, 2);
+                if (entry.length == 2) {
+                    colors.put(decode(entry[0]), decode(entry[1]));
+                }
+            }
+        }
+        return colors;
+    }
+
+    /**
+     * Registers the colors of a published report. The file is only written if the colors have changed.
+     *
+     * @param colors
+     *         the colors by ID
+     *
+     * @throws IOException
+     *         if the registry cannot be written
+     */
+    public void register(final Map<String, String> colors) throws IOException {
+        synchronized (LOCKS.get(file)) {
+            Map<String, String> sorted = new TreeMap<>(colors);
+            if (sorted.equals(read())) {
+                return;
+            }
+
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : sorted.entrySet()) {
+                    writer.write(encode(entry.getKey()) + ASSIGNMENT + encode(entry.getValue()));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static String encode(final String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(final String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
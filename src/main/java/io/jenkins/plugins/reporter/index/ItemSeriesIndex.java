@@ -0,0 +1,384 @@
+package io.jenkins.plugins.reporter.index;
+
+import edu.hm.hafner.echarts.BuildResult;
+import hudson.model.Job;
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.ReportResult;
+import io.jenkins.plugins.reporter.ReportScanner;
+import io.jenkins.plugins.reporter.model.ByIdResultSelector;
+import io.jenkins.plugins.reporter.model.Item;
+import io.jenkins.plugins.reporter.model.ItemSeriesBuilder;
+import io.jenkins.plugins.reporter.model.ItemTraversal;
+import io.jenkins.plugins.reporter.model.Report;
+import io.jenkins.plugins.reporter.model.ReportHistory;
+import io.jenkins.plugins.reporter.util.LineFiles;
+import io.jenkins.plugins.reporter.util.PathLocks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Append-only index of the series of the items of a report in all builds of a job. When a report is published, a
+ * line with the build number, the item ID and the series of the item (as computed by the {@link ItemSeriesBuilder})
+ * is appended for each item that has a details page: items with sub items and items with more than one result. So the
+ * trend of any item can be drawn without loading the builds of the job. Leaves with a single result have no details
+ * page and are not indexed, so the index does not grow with the number of such leaves. If an ID is used by several
+ * items, only the first item in pre-order is indexed, as the {@link Report#findItem(String) details} of that item are
+ * shown for the ID.
+ *
+ * <p>
+ * The lines are distributed by the hash of the item ID to {@link #SHARDS} files, so reading the trend of an item
+ * only reads a small part of the index. The builds, their display names and build times are taken from the
+ * {@link TrendIndex} of the report, so lines of deleted builds are simply ignored. The numbers of deleted builds are
+ * collected and the files are compacted when enough builds have been deleted. A line that has been cut off when the
+ * controller was stopped is terminated before the next lines are appended.
+ * </p>
+ */
+public final class ItemSeriesIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(ItemSeriesIndex.class.getName());
+
+    private static final String SUFFIX = ".items";
+    private static final String SHARD_SUFFIX = ".series";
+    private static final String DELETED = "deleted";
+    private static final String SEPARATOR = "\t";
+    private static final String ASSIGNMENT = "=";
+
+    /** The number of files the lines are distributed to. */
+    static final int SHARDS = 64;
+
+    /** The number of deleted builds that triggers a compaction of the files. */
+    private static final int MAX_DELETED = 64;
+
+    /** 
+     * Guards the modifications of the index files of each index, they only happen when builds are published or
+     * deleted. Rebuilding the index of one job does not block the indexes of other jobs.
+     */
+    private static final PathLocks LOCKS = new PathLocks();
+
+    private final Path directory;
+
+    private final TrendIndex trend;
+
+    private final String reportId;
+
+    private ItemSeriesIndex(final Path directory, final TrendIndex trend, final String reportId) {
+        this.directory = directory;
+        this.trend = trend;
+        this.reportId = reportId;
+    }
+
+    /**
+     * Returns the index for the report with the given ID in the given job.
+     *
+     * @param job
+     *         the job
+     * @param reportId
+     *         the ID of the report
+     *
+     * @return the index
+     */
+    public static ItemSeriesIndex of(final Job<?, ?> job, final String reportId) {
+        return new ItemSeriesIndex(job.getRootDir().toPath()
+                .resolve(ReportScanner.REPORTS_DIRECTORY)
+                .resolve(encode(reportId) + SUFFIX), TrendIndex.of(job, reportId), reportId);
+    }
+
+    /**
+     * Returns whether the index has been created.
+     *
+     * @return {@code true} if the index exists, {@code false} otherwise
+     */
+    public boolean exists() {
+        return Files.isDirectory(directory) && trend.exists();
+    }
+
+    /**
+     * Appends the series of the items of a published report. If the index does not exist yet, it is created from all
+     * builds of the job, including the given build.
+     *
+     * @param run
+     *         the build that published the report
+     * @param report
+     *         the published report
+     *
+     * @throws IOException
+     *         if the index cannot be written
+     */
+    public void append(final Run<?, ?> run, final Report report) throws IOException {
+        synchronized (getLock()) {
+            if (Files.isDirectory(directory)) {
+                StringBuilder[] shards = new StringBuilder[SHARDS];
+                format(run.getNumber(), report, (shard, line) -> {
+                    if (shards[shard] == null) {
+                        shards[shard] = new StringBuilder();
+                    }
+                    shards[shard].append(line);
+                });
+                for (int shard = 0; shard < SHARDS; shard++) {
+                    if (shards[shard] != null) {
+                        LineFiles.append(getShard(directory, shard), shards[shard].toString());
+                    }
+                }
+            }
+            else {
+                rebuild(run, report);
+            }
+        }
+    }
+
+    /**
+     * Marks the series of a deleted build as obsolete. The files are compacted if enough builds have been deleted.
+     *
+     * @param number
+     *         the number of the deleted build
+     *
+     * @throws IOException
+     *         if the index cannot be written
+     */
+    public void remove(final int number) throws IOException {
+        synchronized (getLock()) {
+            if (!Files.isDirectory(directory)) {
+                return;
+            }
+
+            Path deleted = directory.resolve(DELETED);
+            LineFiles.append(deleted, number + "\n");
+
+            Set<Integer> numbers = readDeleted(deleted);
+            if (numbers.size() >= MAX_DELETED) {
+                compact(numbers);
+                Files.delete(deleted);
+            }
+        }
+    }
+
+    /**
+     * Reads the series of an item in all builds up to the given build.
+     *
+     * @param itemId
+     *         the ID of the item
+     * @param latestBuild
+     *         the number of the latest build to return
+     *
+     * @return the series of the item in the builds, starting with the latest build. The series is empty for builds
+     *         that do not contain the item, and for leaves with a single result that are not indexed.
+     * @throws IOException
+     *         if the index cannot be read
+     */
+    public List<BuildResult<TrendPoint>> readBuildResults(final String itemId, final int latestBuild)
+            throws IOException {
+        Map<Integer, Map<String, Integer>> series = readSeries(itemId);
+
+        List<BuildResult<TrendPoint>> results = new ArrayList<>();
+        for (TrendPoint point : trend.read()) {
+            if (point.getNumber() <= latestBuild) {
+                TrendPoint itemPoint = new TrendPoint(point.getNumber(), point.getDisplayName(),
+                        point.getBuildTime(), series.getOrDefault(point.getNumber(), new LinkedHashMap<>()));
+                results.add(new BuildResult<>(itemPoint.toBuild(), itemPoint));
+            }
+        }
+        return results;
+    }
+
+    private Map<Integer, Map<String, Integer>> readSeries(final String itemId) throws IOException {
+        Map<Integer, Map<String, Integer>> series = new HashMap<>();
+        Path shard = getShard(directory, getShard(itemId));
+        if (!Files.exists(shard)) {
+            return series;
+        }
+
+        String encodedId = encode(itemId);
+        try (BufferedReader reader = Files.newBufferedReader(shard, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length < 2 || !fields[1].equals(encodedId)) {
+                    continue;
+                }
+
+                try {
+                    Map<String, Integer> values = new LinkedHashMap<>();
+                    for (int i = 2; i < fields.length; i++) {
+                        String[] entry = fields[i].split(ASSIGNMENT, 2);
+                        values.put(decode(entry[0]), Integer.parseInt(entry[1]));
+                    }
+                    series.put(Integer.parseInt(fields[0]), values);
+                }
+                catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+                    // a line that has not been written completely, e.g. when the controller was stopped
+                    LOGGER.log(Level.FINE, String.format("Skipping invalid line in item series index '%s'", shard),
+                            exception);
+                }
+            }
+        }
+        return series;
+    }
+
+    private Object getLock() {
+        return LOCKS.get(directory);
+    }
+
+    private void rebuild(final Run<?, ?> run, final Report report) throws IOException {
+        Path temp = directory.resolveSibling(directory.getFileName() + ".tmp");
+        deleteDirectory(temp);
+        Files.createDirectories(temp);
+
+        BufferedWriter[] writers = new BufferedWriter[SHARDS];
+        try {
+            for (int shard = 0; shard < SHARDS; shard++) {
+                writers[shard] = Files.newBufferedWriter(getShard(temp, shard), StandardCharsets.UTF_8);
+            }
+            LineConsumer consumer = (shard, line) -> writers[shard].write(line);
+
+            // the action of the published report might not be attached to the build yet
+            format(run.getNumber(), report, consumer);
+            try (ReportHistory history = new ReportHistory(run.getPreviousBuild(), 
+                    new ByIdResultSelector(reportId)).withPrefetchedReports()) {
+                for (BuildResult<ReportResult> result : history) {
+                    format(result.getBuild().getNumber(), result.getResult().getReport(), consumer);
+                }
+            }
+        }
+        finally {
+            for (BufferedWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+
+        Files.move(temp, directory, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void compact(final Set<Integer> deleted) throws IOException {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            Path file = getShard(directory, shard);
+            if (!Files.exists(file)) {
+                continue;
+            }
+
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                    BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (!deleted.contains(parseNumber(line))) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static Set<Integer> readDeleted(final Path deleted) throws IOException {
+        Set<Integer> numbers = new HashSet<>();
+        for (String line : Files.readAllLines(deleted, StandardCharsets.UTF_8)) {
+            try {
+                numbers.add(Integer.parseInt(line));
+            }
+            catch (NumberFormatException exception) {
+                // an empty or incomplete line, e.g. when the controller was stopped
+            }
+        }
+        return numbers;
+    }
+
+    private static int parseNumber(final String line) {
+        int end = line.indexOf(SEPARATOR);
+        try {
+            return Integer.parseInt(end < 0 ? line : line.substring(0, end));
+        }
+        catch (NumberFormatException exception) {
+            return -1; // invalid lines are kept, they are skipped when reading
+        }
+    }
+
+    private static void format(final int number, final Report report, final LineConsumer consumer)
+            throws IOException {
+        Set<String> indexed = new HashSet<>();
+        for (Item item : ItemTraversal.preOrder(report.getItems())) {
+            if (!indexed.add(item.getId()) || !hasDetails(item)) {
+                continue;
+            }
+
+            Map<String, Integer> series;
+            try {
+                series = ItemSeriesBuilder.computeSeries(report, item, item.getResult().size() == 1);
+            }
+            catch (IllegalStateException exception) {
+                // sub items with duplicate IDs, the trend of the item cannot be shown anyway
+                LOGGER.log(Level.FINE, String.format("Skipping item '%s' in item series index", item.getId()),
+                        exception);
+                continue;
+            }
+
+            StringBuilder line = new StringBuilder();
+            line.append(number).append(SEPARATOR).append(encode(item.getId()));
+            series.forEach((key, value) ->
+                    line.append(SEPARATOR).append(encode(key)).append(ASSIGNMENT).append(value));
+            consumer.accept(getShard(item.getId()), line.append('\n').toString());
+        }
+    }
+
+    /**
+     * Returns whether the item has a details page, so its trend is shown.
+     *
+     * @param item
+     *         the item
+     *
+     * @return {@code true} if the item has sub items or more than one result, {@code false} otherwise
+     */
+    public static boolean hasDetails(final Item item) {
+        return item.hasItems() || item.getResult().size() > 1;
+    }
+
+    private static int getShard(final String itemId) {
+        return Math.floorMod(itemId == null ? 0 : itemId.hashCode(), SHARDS);
+    }
+
+    private static Path getShard(final Path directory, final int shard) {
+        return directory.resolve(String.format("%02d%s", shard, SHARD_SUFFIX));
+    }
+
+    private static void deleteDirectory(final Path directory) throws IOException {
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static String encode(final String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(final String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface LineConsumer {
+        void accept(int shard, String line) throws IOException;
+    }
+}
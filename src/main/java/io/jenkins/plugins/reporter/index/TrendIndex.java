@@ -0,0 +1,293 @@
+package io.jenkins.plugins.reporter.index;
+
+import edu.hm.hafner.echarts.Build;
+import edu.hm.hafner.echarts.BuildResult;
+import hudson.model.Job;
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.ReportResult;
+import io.jenkins.plugins.reporter.ReportScanner;
+import io.jenkins.plugins.reporter.model.ByIdResultSelector;
+import io.jenkins.plugins.reporter.model.ReportHistory;
+import io.jenkins.plugins.reporter.model.ReportSummary;
+import io.jenkins.plugins.reporter.util.LineFiles;
+import io.jenkins.plugins.reporter.util.PathLocks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only index of the aggregated values of a report in all builds of a job. For each build a line with the
+ * build number, display name, build time and the {@link ReportSummary#getSeries() series} of the report is appended
+ * when the report is published. So the trend of a report can be drawn from a single small file without loading any
+ * build.
+ *
+ * <p>
+ * The index is stored in the {@link ReportScanner#REPORTS_DIRECTORY reports directory} of the job. If the index does
+ * not exist when a report is published, it is created from the builds of the job once. The numbers of deleted builds
+ * are collected in a second file and their lines are skipped when the index is read. The index is compacted when
+ * enough builds have been deleted, so deleting many builds does not rewrite the index for each build.
+ * </p>
+ */
+public final class TrendIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(TrendIndex.class.getName());
+
+    private static final String SUFFIX = ".trend";
+    private static final String DELETED_SUFFIX = ".deleted";
+    private static final String SEPARATOR = "\t";
+    private static final String ASSIGNMENT = "=";
+
+    /** The number of deleted builds that triggers a compaction of the index. */
+    private static final int MAX_DELETED = 64;
+
+    /**
+     * Guards the modifications of each index, they only happen when builds are published or deleted. Rebuilding the
+     * index of one report does not block the indexes of other reports.
+     */
+    private static final PathLocks LOCKS = new PathLocks();
+
+    private final Path file;
+
+    private final String reportId;
+
+    private TrendIndex(final Path file, final String reportId) {
+        this.file = file;
+        this.reportId = reportId;
+    }
+
+    /**
+     * Returns the index for the report with the given ID in the given job.
+     *
+     * @param job
+     *         the job
+     * @param reportId
+     *         the ID of the report
+     *
+     * @return the index
+     */
+    public static TrendIndex of(final Job<?, ?> job, final String reportId) {
+        return new TrendIndex(job.getRootDir().toPath()
+                .resolve(ReportScanner.REPORTS_DIRECTORY)
+                .resolve(encode(reportId) + SUFFIX), reportId);
+    }
+
+    /**
+     * Returns whether the index has been created.
+     *
+     * @return {@code true} if the index exists, {@code false} otherwise
+     */
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Appends the values of a published report. If the index does not exist yet, it is created from all builds of
+     * the job, including the given build.
+     *
+     * @param run
+     *         the build that published the report
+     * @param summary
+     *         the summary of the published report
+     *
+     * @throws IOException
+     *         if the index cannot be written
+     */
+    public void append(final Run<?, ?> run, final ReportSummary summary) throws IOException {
+        synchronized (LOCKS.get(file)) {
+            if (exists()) {
+                LineFiles.append(file, format(createPoint(run, summary)));
+            }
+            else {
+                rebuild(run, summary);
+            }
+        }
+    }
+
+    /**
+     * Marks the values of a deleted build as obsolete. The index is compacted if enough builds have been deleted.
+     *
+     * @param number
+     *         the number of the deleted build
+     *
+     * @throws IOException
+     *         if the index cannot be written
+     */
+    public void remove(final int number) throws IOException {
+        synchronized (LOCKS.get(file)) {
+            if (!exists()) {
+                return;
+            }
+
+            Path deleted = getDeletedFile();
+            LineFiles.append(deleted, number + "\n");
+            if (readDeleted().size() >= MAX_DELETED) {
+                write(read());
+                Files.delete(deleted);
+            }
+        }
+    }
+
+    /**
+     * Reads the values of all builds. If a build has been published twice, the last values are returned.
+     *
+     * @return the values of the builds, starting with the latest build
+     * @throws IOException
+     *         if the index cannot be read
+     */
+    public List<TrendPoint> read() throws IOException {
+        TreeMap<Integer, TrendPoint> points = new TreeMap<>(Comparator.reverseOrder());
+        if (!exists()) {
+            return new ArrayList<>();
+        }
+
+        // read before the index, a compaction replaces the index before it deletes the numbers
+        Set<Integer> deleted = readDeleted();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                try {
+                    TrendPoint point = parse(line);
+                    if (!deleted.contains(point.getNumber())) {
+                        points.put(point.getNumber(), point);
+                    }
+                }
+                catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+                    // a line that has not been written completely, e.g. when the controller was stopped
+                    LOGGER.log(Level.FINE, String.format("Skipping invalid line in trend index '%s'", file),
+                            exception);
+                }
+            }
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    /**
+     * Reads the values of all builds as results for a chart.
+     *
+     * @return the values of the builds, starting with the latest build
+     * @throws IOException
+     *         if the index cannot be read
+     */
+    public List<BuildResult<TrendPoint>> readBuildResults() throws IOException {
+        return readBuildResults(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the values of all builds up to the given build as results for a chart.
+     *
+     * @param latestBuild
+     *         the number of the latest build to return
+     *
+     * @return the values of the builds, starting with the latest build
+     * @throws IOException
+     *         if the index cannot be read
+     */
+    public List<BuildResult<TrendPoint>> readBuildResults(final int latestBuild) throws IOException {
+        List<BuildResult<TrendPoint>> results = new ArrayList<>();
+        for (TrendPoint point : read()) {
+            if (point.getNumber() <= latestBuild) {
+                results.add(new BuildResult<>(point.toBuild(), point));
+            }
+        }
+        return results;
+    }
+
+    private Set<Integer> readDeleted() throws IOException {
+        Set<Integer> numbers = new HashSet<>();
+        Path deleted = getDeletedFile();
+        if (!Files.exists(deleted)) {
+            return numbers;
+        }
+
+        for (String line : Files.readAllLines(deleted, StandardCharsets.UTF_8)) {
+            try {
+                numbers.add(Integer.parseInt(line));
+            }
+            catch (NumberFormatException exception) {
+                // an empty or incomplete line, e.g. when the controller was stopped
+            }
+        }
+        return numbers;
+    }
+
+    private Path getDeletedFile() {
+        return file.resolveSibling(file.getFileName() + DELETED_SUFFIX);
+    }
+
+    private void rebuild(final Run<?, ?> run, final ReportSummary summary) throws IOException {
+        List<TrendPoint> points = new ArrayList<>();
+        // the action of the published report might not be attached to the build yet
+        points.add(createPoint(run, summary));
+        for (BuildResult<ReportResult> result
+                : new ReportHistory(run.getPreviousBuild(), new ByIdResultSelector(reportId))) {
+            Build build = result.getBuild();
+            points.add(new TrendPoint(build.getNumber(), build.getDisplayName(), build.getBuildTime(),
+                    result.getResult().getSummary().getSeries()));
+        }
+        write(points);
+    }
+
+    private void write(final List<TrendPoint> points) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        StringBuilder content = new StringBuilder();
+        // oldest build first, as if the lines had been appended
+        for (int i = points.size() - 1; i >= 0; i--) {
+            content.append(format(points.get(i)));
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, content.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static TrendPoint createPoint(final Run<?, ?> run, final ReportSummary summary) {
+        return new TrendPoint(run.getNumber(), run.getDisplayName(), (int) (run.getTimeInMillis() / 1000),
+                summary.getSeries());
+    }
+
+    private static String format(final TrendPoint point) {
+        StringBuilder line = new StringBuilder();
+        line.append(point.getNumber())
+                .append(SEPARATOR).append(point.getBuildTime())
+                .append(SEPARATOR).append(encode(point.getDisplayName()));
+        point.getSeries().forEach((key, value) ->
+                line.append(SEPARATOR).append(encode(key)).append(ASSIGNMENT).append(value));
+        return line.append('\n').toString();
+    }
+
+    private static TrendPoint parse(final String line) {
+        String[] fields = line.split(SEPARATOR, -1);
+
+        Map<String, Integer> series = new LinkedHashMap<>();
+        for (int i = 3; i < fields.length; i++) {
+            String[] entry = fields[i].split(ASSIGNMENT, 2);
+            series.put(decode(entry[0]), Integer.parseInt(entry[1]));
+        }
+
+        return new TrendPoint(Integer.parseInt(fields[0]), decode(fields[2]), Integer.parseInt(fields[1]), series);
+    }
+
+    private static String encode(final String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(final String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,34 @@
+package io.jenkins.plugins.reporter.index;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import io.jenkins.plugins.reporter.ReportAction;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Removes the values of deleted builds from the {@link TrendIndex trend indexes} and
+ * {@link ItemSeriesIndex item series indexes} of their job.
+ */
+@Extension
+public class TrendIndexListener extends RunListener<Run<?, ?>> {
+
+    private static final Logger LOGGER = Logger.getLogger(TrendIndexListener.class.getName());
+
+    @Override
+    public void onDeleted(final Run<?, ?> run) {
+        for (ReportAction action : run.getActions(ReportAction.class)) {
+            try {
+                TrendIndex.of(run.getParent(), action.getId()).remove(run.getNumber());
+                ItemSeriesIndex.of(run.getParent(), action.getId()).remove(run.getNumber());
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, String.format("Can't remove %s from trend indexes of report '%s'",
+                        run, action.getId()), exception);
+            }
+        }
+    }
+}
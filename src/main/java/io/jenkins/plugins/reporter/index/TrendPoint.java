@@ -0,0 +1,66 @@
+package io.jenkins.plugins.reporter.index;
+
+import edu.hm.hafner.echarts.Build;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The aggregated values of a report in a single build, as stored in a {@link TrendIndex}.
+ */
+public final class TrendPoint {
+
+    private final int number;
+
+    private final String displayName;
+
+    private final int buildTime;
+
+    private final Map<String, Integer> series;
+
+    /**
+     * Creates a new instance of {@link TrendPoint}.
+     *
+     * @param number
+     *         the number of the build
+     * @param displayName
+     *         the display name of the build
+     * @param buildTime
+     *         the time of the build in seconds since the epoch
+     * @param series
+     *         the aggregated values of the report in the build
+     */
+    public TrendPoint(final int number, final String displayName, final int buildTime,
+            final Map<String, Integer> series) {
+        this.number = number;
+        this.displayName = displayName;
+        this.buildTime = buildTime;
+        this.series = Collections.unmodifiableMap(new LinkedHashMap<>(series));
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getBuildTime() {
+        return buildTime;
+    }
+
+    public Map<String, Integer> getSeries() {
+        return series;
+    }
+
+    /**
+     * Returns the build of this point for a chart.
+     *
+     * @return the build
+     */
+    public Build toBuild() {
+        return new Build(number, displayName, buildTime);
+    }
+}
@@ -0,0 +1,16 @@
+package io.jenkins.plugins.reporter.index;
+
+import edu.hm.hafner.echarts.SeriesBuilder;
+
+import java.util.Map;
+
+/**
+ * Builds one x-axis point for the series of a line chart from the values stored in a {@link TrendIndex}.
+ */
+public class TrendPointSeriesBuilder extends SeriesBuilder<TrendPoint> {
+
+    @Override
+    protected Map<String, Integer> computeSeries(final TrendPoint point) {
+        return point.getSeries();
+    }
+}
@@ -3,7 +3,6 @@ package io.jenkins.plugins.reporter.model;
 import hudson.model.Run;
 import io.jenkins.plugins.reporter.ReportAction;
 
-import java.util.List;
 import java.util.Optional;
 
 public class ByIdResultSelector implements ResultSelector {
@@ -20,14 +19,20 @@ public class ByIdResultSelector implements ResultSelector {
         this.id = id;
     }
     
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the report with the ID of this selector, which is looked up in the {@link ReportActionIndex}.
+     *
+     * @param build
+     *         the build
+     *
+     * @return the report action
+     */
     @Override
     public Optional<ReportAction> get(Run<?, ?> build) {
-        List<ReportAction> actions = build.getActions(ReportAction.class);
-        for (ReportAction action : actions) {
-            if (id.equals(action.getId())) {
-                return Optional.of(action);
-            }
-        }
-        return Optional.empty();
+        return ReportActionIndex.get(build, id);
     }
 }
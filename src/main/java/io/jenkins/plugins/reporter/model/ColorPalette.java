@@ -3,7 +3,6 @@ package io.jenkins.plugins.reporter.model;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class ColorPalette {
     
@@ -17,13 +16,56 @@ public class ColorPalette {
         
         Map<String, String> colors = new HashMap<>();
         
-        ids.forEach(id -> {
-            int rand_num = ThreadLocalRandom.current().nextInt(0xffffff + 1);
-            String color = String.format("#%06x", rand_num);
-
-            colors.put(id, color);
-        });
+        ids.forEach(id -> colors.put(id, getColor(id)));
         
         return colors;
     }
+
+    /**
+     * Returns the color for the given id. The color is derived from the hash of the id, so an id gets the same color
+     * in all builds and all jobs, without storing the color in the report.
+     *
+     * @param id
+     *          the id of the item or result.
+     *
+     * @return the color as hex string.
+     */
+    public static String getColor(String id) {
+        int hash = mix(id == null ? 0 : id.hashCode());
+
+        // light colors like in the palette, hue spread over the whole circle
+        double hue = Math.floorMod(hash, 360);
+        double saturation = 0.55 + (hash >>> 9 & 0xF) / 75.0;
+        double lightness = 0.70 + (hash >>> 13 & 0xF) / 150.0;
+
+        return toHex(hue, saturation, lightness);
+    }
+
+    /**
+     * Spreads the bits of similar hashes (e.g. of the ids "item1" and "item2"), see the finalizer of MurmurHash3.
+     */
+    private static int mix(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static String toHex(double hue, double saturation, double lightness) {
+        return String.format("#%02x%02x%02x", channel(0, hue, saturation, lightness),
+                channel(8, hue, saturation, lightness), channel(4, hue, saturation, lightness));
+    }
+
+    /**
+     * Converts HSL to a single RGB channel, see https://en.wikipedia.org/wiki/HSL_and_HSV#HSL_to_RGB_alternative.
+     */
+    private static long channel(int n, double hue, double saturation, double lightness) {
+        double k = (n + hue / 30) % 12;
+        double a = saturation * Math.min(lightness, 1 - lightness);
+        double value = lightness - a * Math.max(-1, Math.min(Math.min(k - 3, 9 - k), 1));
+        return Math.round(value * 255);
+    }
 }
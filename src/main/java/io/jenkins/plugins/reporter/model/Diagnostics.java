@@ -0,0 +1,266 @@
+package io.jenkins.plugins.reporter.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the info and error messages of a {@link Report} with bounded memory. For each {@link Severity} the
+ * number of messages is counted, messages are aggregated by their category (the format string used to create
+ * them) and only the last messages are kept as samples in a ring buffer. The size of a report's log therefore
+ * does not grow with the number of items in the report.
+ *
+ * <p>
+ * The diagnostics of a published report are {@link #freeze(int) frozen} together with the report. Afterwards all
+ * modifying methods throw an {@link UnsupportedOperationException}, so frozen diagnostics can be shared by copies of
+ * the report and between threads.
+ * </p>
+ */
+public class Diagnostics implements Serializable {
+
+    private static final long serialVersionUID = -3264937120532385937L;
+
+    /** Number of samples kept for each severity while a report is scanned and merged. */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /** Number of samples kept for each severity in a published report. */
+    public static final int PUBLISHED_CAPACITY = 100;
+
+    private static final int MAX_CATEGORIES = 100;
+
+    private static final String OTHER_CATEGORY = "Other";
+
+    /**
+     * The severity of a message.
+     */
+    public enum Severity {
+        INFO,
+        ERROR
+    }
+
+    private final Channel info;
+
+    private final Channel error;
+
+    private transient volatile boolean frozen;
+
+    /**
+     * Creates a new instance of {@link Diagnostics} with the {@link #DEFAULT_CAPACITY}.
+     */
+    public Diagnostics() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new instance of {@link Diagnostics}.
+     *
+     * @param capacity
+     *         the number of samples to keep for each severity
+     */
+    public Diagnostics(final int capacity) {
+        this.info = new Channel(capacity);
+        this.error = new Channel(capacity);
+    }
+
+    /**
+     * Adds a message with the given severity.
+     *
+     * @param severity
+     *         the severity of the message
+     * @param category
+     *         the category to aggregate the message with, typically the format string of the message
+     * @param message
+     *         the message
+     */
+    public void add(final Severity severity, final String category, final String message) {
+        checkNotFrozen();
+        getChannel(severity).add(category, message);
+    }
+
+    /**
+     * Adds all messages of the given diagnostics to this instance.
+     *
+     * @param other
+     *         the diagnostics to add
+     */
+    public void addAll(final Diagnostics other) {
+        checkNotFrozen();
+        info.addAll(other.info);
+        error.addAll(other.error);
+    }
+
+    /**
+     * Returns the total number of messages with the given severity, including messages that are no longer kept as
+     * sample.
+     *
+     * @param severity
+     *         the severity
+     *
+     * @return the number of messages
+     */
+    public long getCount(final Severity severity) {
+        return getChannel(severity).total;
+    }
+
+    /**
+     * Returns the number of messages with the given severity that are no longer kept as sample.
+     *
+     * @param severity
+     *         the severity
+     *
+     * @return the number of dropped messages
+     */
+    public long getDroppedCount(final Severity severity) {
+        Channel channel = getChannel(severity);
+        return channel.total - channel.samples.size();
+    }
+
+    /**
+     * Returns the latest messages with the given severity in chronological order.
+     *
+     * @param severity
+     *         the severity
+     *
+     * @return the sample messages
+     */
+    public List<String> getSamples(final Severity severity) {
+        return getChannel(severity).getSamples();
+    }
+
+    /**
+     * Returns the number of messages for each category with the given severity.
+     *
+     * @param severity
+     *         the severity
+     *
+     * @return the number of messages by category
+     */
+    public Map<String, Integer> getCategories(final Severity severity) {
+        return Collections.unmodifiableMap(getChannel(severity).categories);
+    }
+
+    /**
+     * Reduces the number of samples kept for each severity to the given capacity. The oldest samples are dropped,
+     * the counters are not changed.
+     *
+     * @param capacity
+     *         the new capacity
+     */
+    public void trim(final int capacity) {
+        checkNotFrozen();
+        info.trim(capacity);
+        error.trim(capacity);
+    }
+
+    /**
+     * Reduces the number of samples to the given capacity and freezes these diagnostics. Freezing is idempotent, 
+     * diagnostics that are frozen already are not changed.
+     *
+     * @param capacity
+     *         the number of samples to keep for each severity
+     */
+    public synchronized void freeze(final int capacity) {
+        if (frozen) {
+            return;
+        }
+
+        info.trim(capacity);
+        error.trim(capacity);
+        frozen = true;
+    }
+
+    /**
+     * Returns whether these diagnostics have been frozen.
+     *
+     * @return {@code true} if frozen, {@code false} otherwise
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Diagnostics are frozen.");
+        }
+    }
+
+    private Channel getChannel(final Severity severity) {
+        return severity == Severity.ERROR ? error : info;
+    }
+
+    /**
+     * Counters, categories and sample ring buffer of a single severity.
+     */
+    private static class Channel implements Serializable {
+
+        private static final long serialVersionUID = 2839475110372650427L;
+
+        private int capacity;
+
+        private long total;
+
+        private int head;
+
+        private ArrayList<String> samples;
+
+        private final LinkedHashMap<String, Integer> categories = new LinkedHashMap<>();
+
+        Channel(final int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.samples = new ArrayList<>();
+        }
+
+        void add(final String category, final String message) {
+            total++;
+            count(category, 1);
+            addSample(message);
+        }
+
+        void addAll(final Channel other) {
+            other.getSamples().forEach(this::addSample);
+            total += other.total;
+            other.categories.forEach(this::count);
+        }
+
+        List<String> getSamples() {
+            if (head == 0) {
+                return Collections.unmodifiableList(samples);
+            }
+
+            List<String> ordered = new ArrayList<>(samples.size());
+            ordered.addAll(samples.subList(head, samples.size()));
+            ordered.addAll(samples.subList(0, head));
+            return Collections.unmodifiableList(ordered);
+        }
+
+        void trim(final int newCapacity) {
+            List<String> ordered = getSamples();
+            int from = Math.max(0, ordered.size() - newCapacity);
+            samples = new ArrayList<>(ordered.subList(from, ordered.size()));
+            head = 0;
+            capacity = Math.max(1, newCapacity);
+        }
+
+        private void addSample(final String message) {
+            if (samples.size() < capacity) {
+                samples.add(message);
+            }
+            else {
+                samples.set(head, message);
+                head = (head + 1) % capacity;
+            }
+        }
+
+        private void count(final String category, final int count) {
+            if (categories.containsKey(category) || categories.size() < MAX_CATEGORIES) {
+                categories.merge(category, count, Integer::sum);
+            }
+            else {
+                categories.merge(OTHER_CATEGORY, count, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package io.jenkins.plugins.reporter.model;
+
+import hudson.model.Job;
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.ReportAction;
+import jenkins.util.SystemProperties;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caches the builds of a job that contain a report with a given ID, so that a {@link ReportHistory} does not need to
+ * walk through all builds of the job each time a page is rendered. For each build the cache holds the number, display
+ * name, build time and the {@link ReportSummary summary} of the report, but neither the build nor the report itself.
+ *
+ * <p>
+ * The cache holds the histories of at most {@link #CAPACITY} reports, the least recently used history is evicted
+ * first. The history of a report is invalidated when a build with the report is completed or deleted, or when a
+ * report is published.
+ * </p>
+ */
+public final class HistoryCache {
+
+    /** The maximum number of cached histories. */
+    static final int CAPACITY = Math.max(1,
+            SystemProperties.getInteger(HistoryCache.class.getName() + ".capacity", 1000));
+
+    private static final HistoryCache INSTANCE = new HistoryCache();
+
+    private final Map<String, CachedHistory> histories = new LinkedHashMap<String, CachedHistory>(16, 0.75f, true) {
+        private static final long serialVersionUID = -2618394726152386193L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CachedHistory> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    /** The value of {@link #invalidations} when the history of a report has been modified the last time. */
+    private final Map<String, Long> versions = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        private static final long serialVersionUID = 4719204368213694825L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    /** Incremented on each invalidation, so histories computed concurrently to an invalidation are not cached. */
+    private long invalidations;
+
+    private HistoryCache() {
+        // singleton
+    }
+
+    /**
+     * Returns the cache of the controller.
+     *
+     * @return the cache
+     */
+    public static HistoryCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the builds of the job that contain the report with the given ID.
+     *
+     * @param job
+     *         the job
+     * @param reportId
+     *         the ID of the report
+     *
+     * @return the builds, starting with the latest build
+     */
+    public List<Entry> getEntries(final Job<?, ?> job, final String reportId) {
+        String key = createKey(job, reportId);
+
+        CachedHistory cached;
+        long generation;
+        synchronized (histories) {
+            cached = histories.get(key);
+            generation = invalidations;
+        }
+        if (cached != null && cached.job.get() == job) {
+            return cached.entries;
+        }
+
+        CachedHistory computed = new CachedHistory(job, compute(job, reportId));
+        synchronized (histories) {
+            if (generation == invalidations) {
+                histories.put(key, computed);
+            }
+        }
+        return computed.entries;
+    }
+
+    /**
+     * Removes the history of the report with the given ID from the cache.
+     *
+     * @param job
+     *         the job
+     * @param reportId
+     *         the ID of the report
+     */
+    public void invalidate(final Job<?, ?> job, final String reportId) {
+        synchronized (histories) {
+            histories.remove(createKey(job, reportId));
+            modified(createKey(job, reportId));
+        }
+    }
+
+    /**
+     * Marks data derived from the history of the report with the given ID as modified, e.g. an index that has been
+     * updated after the report has been published. The cached history is kept, but the {@link #getVersion version}
+     * changes.
+     *
+     * @param job
+     *         the job
+     * @param reportId
+     *         the ID of the report
+     */
+    public void modified(final Job<?, ?> job, final String reportId) {
+        synchronized (histories) {
+            modified(createKey(job, reportId));
+        }
+    }
+
+    private void modified(final String key) {
+        invalidations++;
+        versions.put(key, invalidations);
+    }
+
+    /**
+     * Returns the version of the history of the report with the given ID. The version changes whenever a build with
+     * the report is completed or deleted, a report is published, or data derived from the history is modified. So
+     * views that are derived from the history are unchanged as long as the version is unchanged.
+     *
+     * @param job
+     *         the job
+     * @param reportId
+     *         the ID of the report
+     *
+     * @return the version
+     */
+    public long getVersion(final Job<?, ?> job, final String reportId) {
+        synchronized (histories) {
+            // unknown or evicted versions start with the current counter, later modifications result in larger values
+            return versions.computeIfAbsent(createKey(job, reportId), key -> invalidations);
+        }
+    }
+
+    /**
+     * Removes the histories of all reports of the given build from the cache.
+     *
+     * @param run
+     *         the build
+     */
+    public void invalidate(final Run<?, ?> run) {
+        for (ReportAction action : run.getActions(ReportAction.class)) {
+            invalidate(run.getParent(), action.getId());
+        }
+    }
+
+    private static List<Entry> compute(final Job<?, ?> job, final String reportId) {
+        ByIdResultSelector selector = new ByIdResultSelector(reportId);
+
+        List<Entry> entries = new ArrayList<>();
+        for (Run<?, ?> run = job.getLastBuild(); run != null; run = run.getPreviousBuild()) {
+            Optional<ReportAction> action = selector.get(run);
+            if (action.isPresent()) {
+                entries.add(new Entry(run.getNumber(), run.getDisplayName(), (int) (run.getTimeInMillis() / 1000),
+                        action.get().getResult().getSummary()));
+            }
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    private static String createKey(final Job<?, ?> job, final String reportId) {
+        return job.getFullName() + '\n' + reportId;
+    }
+
+    /**
+     * A build that contains the report.
+     */
+    public static final class Entry {
+        private final int number;
+        private final String displayName;
+        private final int buildTime;
+        private final ReportSummary summary;
+
+        Entry(final int number, final String displayName, final int buildTime, final ReportSummary summary) {
+            this.number = number;
+            this.displayName = displayName;
+            this.buildTime = buildTime;
+            this.summary = summary;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * Returns the time of the build.
+         *
+         * @return the time in seconds since the epoch
+         */
+        public int getBuildTime() {
+            return buildTime;
+        }
+
+        public ReportSummary getSummary() {
+            return summary;
+        }
+    }
+
+    /**
+     * The history of a report in a job. The job is referenced to detect jobs that have been replaced by a new job
+     * with the same name.
+     */
+    private static final class CachedHistory {
+        private final WeakReference<Job<?, ?>> job;
+        private final List<Entry> entries;
+
+        CachedHistory(final Job<?, ?> job, final List<Entry> entries) {
+            this.job = new WeakReference<>(job);
+            this.entries = entries;
+        }
+    }
+}
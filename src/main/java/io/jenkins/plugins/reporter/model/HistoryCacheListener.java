@@ -0,0 +1,23 @@
+package io.jenkins.plugins.reporter.model;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+
+/**
+ * Invalidates the cached {@link HistoryCache histories} of the reports of completed and deleted builds.
+ */
+@Extension
+public class HistoryCacheListener extends RunListener<Run<?, ?>> {
+
+    @Override
+    public void onCompleted(final Run<?, ?> run, final TaskListener listener) {
+        HistoryCache.get().invalidate(run);
+    }
+
+    @Override
+    public void onDeleted(final Run<?, ?> run) {
+        HistoryCache.get().invalidate(run);
+    }
+}
@@ -0,0 +1,127 @@
+package io.jenkins.plugins.reporter.model;
+
+import edu.hm.hafner.echarts.BuildResult;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.jenkins.plugins.reporter.ReportResult;
+import jenkins.util.SystemProperties;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Returns the results of a history in order, while the reports of the next {@link #WINDOW} results are loaded
+ * concurrently in the background. So rendering a trend of reports that are stored outside the {@code build.xml} and
+ * are not in memory yet is limited by the throughput of the disk rather than the latency of reading one report after
+ * the other.
+ *
+ * <p>
+ * The builds themselves are loaded by the calling thread, as Jenkins loads the builds of a job one after the other
+ * anyway. All histories share an executor with at most {@link #THREADS} threads. If a report has not been loaded by
+ * the executor when its result is returned, or if the queue of the executor is full, the calling thread loads the
+ * report itself. Reports that are still pending when the loader is {@link #close() closed} are not loaded.
+ * </p>
+ */
+final class HistoryLoader implements Iterator<BuildResult<ReportResult>>, AutoCloseable {
+
+    /** The number of threads that load reports for all histories. */
+    static final int THREADS = Math.max(1,
+            SystemProperties.getInteger(HistoryLoader.class.getName() + ".threads", 4));
+
+    /** The number of reports that are loaded ahead of the iteration. */
+    static final int WINDOW = Math.max(1,
+            SystemProperties.getInteger(HistoryLoader.class.getName() + ".window", 16));
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private final Iterator<BuildResult<ReportResult>> results;
+    private final Deque<Prefetch> window = new ArrayDeque<>();
+
+    /**
+     * Creates a new instance of {@link HistoryLoader}.
+     *
+     * @param results
+     *         the results to load the reports for, in the order of the iteration
+     */
+    HistoryLoader(final Iterator<BuildResult<ReportResult>> results) {
+        this.results = results;
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(THREADS * WINDOW),
+                new NamingThreadFactory(new DaemonThreadFactory(), HistoryLoader.class.getSimpleName()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !window.isEmpty() || results.hasNext();
+    }
+
+    @Override
+    public BuildResult<ReportResult> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more builds in history");
+        }
+
+        while (window.size() < WINDOW && results.hasNext()) {
+            BuildResult<ReportResult> result = results.next();
+            FutureTask<Report> task = new FutureTask<>(result.getResult()::getReport);
+            window.add(new Prefetch(result, task));
+            EXECUTOR.execute(task);
+        }
+
+        Prefetch prefetch = window.remove();
+        await(prefetch.task);
+        return prefetch.result;
+    }
+
+    /**
+     * Cancels the loading of all reports that have not been returned yet.
+     */
+    @Override
+    public void close() {
+        window.forEach(prefetch -> prefetch.task.cancel(false));
+        window.clear();
+    }
+
+    private static void await(final FutureTask<Report> task) {
+        task.run(); // does nothing if the executor already started the task
+        try {
+            task.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the history", exception);
+        }
+        catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new IllegalStateException("Can't load report", exception.getCause());
+        }
+    }
+
+    /**
+     * A result whose report is loaded in the background.
+     */
+    private static final class Prefetch {
+        private final BuildResult<ReportResult> result;
+        private final FutureTask<Report> task;
+
+        Prefetch(final BuildResult<ReportResult> result, final FutureTask<Report> task) {
+            this.result = result;
+            this.task = task;
+        }
+    }
+}
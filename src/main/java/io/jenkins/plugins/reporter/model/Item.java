@@ -9,16 +9,24 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * Json Model class, which represents an {@link Item}. 
  * An item always has an {@link Item#id} and a map of {@link Item#result}.
  * In addition, an {@link Item} can in turn contain a list of items.
+ * 
+ * <p>
+ * Once the report of an item is published, the item is {@link #freeze() frozen}: the results of all sub items are
+ * precomputed and the item cannot be changed anymore.
+ * </p>
  *
  * @author Simon Symhoven
  */
@@ -40,6 +48,41 @@ public class Item implements Serializable {
     @JsonProperty(value = "items", required = false)
     @JsonInclude(JsonInclude.Include.NON_NULL)
     List<Item> items;
+    
+    private transient volatile boolean frozen;
+    
+    private transient Map<String, Integer> frozenResult;
+    
+    private transient List<Item> frozenItems;
+    
+    private transient int frozenTotal;
+    
+    /** The sub items of a frozen item by their ID, created when a sub item is looked up the first time. */
+    private transient volatile Map<String, Item> frozenIndex;
+
+    /**
+     * Makes this item and all sub items immutable. The list of sub items is trimmed and the result and total are 
+     * computed once, so that the item can be shared between threads without locking or copying. Calling any setter 
+     * of a frozen item throws an {@link UnsupportedOperationException}.
+     */
+    public void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        
+        ItemRollup.freeze(Collections.singletonList(this));
+    }
+
+    /**
+     * Returns whether this item has been frozen. All getters of this class consult this method, so a subclass that
+     * is immutable by construction may return {@code true} if it provides the result, total and sub items itself.
+     *
+     * @return {@code true} if the item is immutable, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
 
     public String getId() {
         return id;
@@ -55,6 +98,7 @@ public class Item implements Serializable {
     }
 
     public void setId(String id) {
+        checkNotFrozen();
         this.id = id;
     }
 
@@ -63,25 +107,30 @@ public class Item implements Serializable {
     }
 
     public void setName(String name) {
+        checkNotFrozen();
         this.name = name;
     }
 
     @JsonIgnore
-    public LinkedHashMap<String, Integer> getResult() {
+    public Map<String, Integer> getResult() {
+        if (isFrozen()) {
+            return frozenResult;
+        }
+        
         if (result != null) {
             return result;
         }
 
-        return getItems()
-                .stream()
-                .map(Item::getResult)
-                .flatMap(map -> map.entrySet().stream())
-                .collect(Collectors.groupingBy(Map.Entry::getKey, LinkedHashMap::new, Collectors.summingInt(Map.Entry::getValue)));
+        return ItemRollup.aggregate(items);
     }
     
     @JsonIgnore
     public int getTotal() {
-        return getResult().values().stream().reduce(0, Integer::sum);
+        if (isFrozen()) {
+            return frozenTotal;
+        }
+        
+        return sum(getResult());
     }
 
     @JsonIgnore
@@ -98,22 +147,136 @@ public class Item implements Serializable {
     }
     
     public void setResult(LinkedHashMap<String, Integer> result) {
+        checkNotFrozen();
         this.result = result;
     }
 
     public List<Item> getItems() {
+        if (isFrozen()) {
+            return frozenItems;
+        }
+        
         return items;
     }
 
+    /**
+     * Returns the direct sub item with the given ID. The sub items of a frozen item are indexed, so the lookup does 
+     * not scan all sub items.
+     *
+     * @param itemId
+     *         the ID of the sub item
+     *
+     * @return the sub item, or an empty optional if this item has no sub item with the ID
+     */
+    public Optional<Item> findItem(final String itemId) {
+        List<Item> subItems = getItems();
+        if (subItems == null) {
+            return Optional.empty();
+        }
+        if (!isFrozen()) {
+            return subItems.stream().filter(i -> Objects.equals(i.getId(), itemId)).findFirst();
+        }
+
+        Map<String, Item> index = frozenIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            for (Item subItem : subItems) {
+                index.putIfAbsent(subItem.getId(), subItem);
+            }
+            frozenIndex = index;
+        }
+        return Optional.ofNullable(index.get(itemId));
+    }
+
     public boolean hasItems() {
         return !Objects.isNull(items) && !items.isEmpty();
     }
 
     public void setItems(List<Item> items) {
+        checkNotFrozen();
         this.items = items;
     }
     
     public void addItem(Item item) {
+        checkNotFrozen();
         this.items.add(item);
     }
+    
+    /**
+     * Freezes this item and all sub items sequentially. Sub items are frozen first, so the result of each item is 
+     * computed from the results of its sub items.
+     */
+    void freezeSubtree() {
+        if (isFrozen()) {
+            return;
+        }
+        
+        ItemTraversal.postOrder(items).forEach(Item::freezeItem);
+        freezeItem();
+    }
+
+    /**
+     * Freezes this item with the given result of its sub items. All sub items must be frozen already.
+     *
+     * @param subItemsResult
+     *         the aggregated result of the sub items, used if the item has no result of its own
+     */
+    void freezeWith(Map<String, Integer> subItemsResult) {
+        freezeItem(subItemsResult);
+    }
+    
+    private void freezeItem() {
+        if (!isFrozen()) {
+            freezeItem(result != null ? result : computeResult(items));
+        }
+    }
+    
+    private synchronized void freezeItem(Map<String, Integer> subItemsResult) {
+        if (isFrozen()) {
+            return;
+        }
+
+        if (items != null) {
+            items = new ArrayList<>(items);
+            frozenItems = Collections.unmodifiableList(items);
+        }
+
+        frozenResult = Collections.unmodifiableMap(result != null ? result : subItemsResult);
+        frozenTotal = sum(frozenResult);
+        frozen = true;
+    }
+    
+    /**
+     * Sums up the results of all given items that provide a result, either because they have their own result or
+     * because they are frozen. The tree is traversed iteratively in pre-order, so the order of the keys is the 
+     * order in which they appear in the tree.
+     *
+     * @param items
+     *         the items to sum up
+     *
+     * @return the summed up result
+     */
+    static LinkedHashMap<String, Integer> computeResult(List<Item> items) {
+        LinkedHashMap<String, Integer> sum = new LinkedHashMap<>();
+        
+        ItemTraversal.preOrder(items).accept((item, parent, depth) -> {
+            if (item.isFrozen() || item.result != null) {
+                item.getResult().forEach((key, value) -> sum.merge(key, value, Integer::sum));
+                return ItemVisitor.Result.SKIP_CHILDREN;
+            }
+            return ItemVisitor.Result.CONTINUE;
+        });
+        
+        return sum;
+    }
+    
+    private static int sum(Map<String, Integer> values) {
+        return values.values().stream().reduce(0, Integer::sum);
+    }
+    
+    private void checkNotFrozen() {
+        if (isFrozen()) {
+            throw new UnsupportedOperationException(String.format("Item with ID='%s' is frozen.", id));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package io.jenkins.plugins.reporter.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import jenkins.util.SystemProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sums up the results of item trees. Large trees are aggregated on the common {@link ForkJoinPool}: the sub items of
+ * each item are aggregated by a task of their own, and long lists of sibling items are split in halves, so subtrees are
+ * aggregated in parallel regardless of the shape of the tree. Short lists of sub items are aggregated by the current
+ * task. Small trees, and trees whose results are already known, are aggregated sequentially. In all cases the keys of
+ * the result are in the order in which they appear in the tree.
+ */
+public final class ItemRollup {
+
+    /** Minimum number of items in a tree to aggregate it in parallel. */
+    static final int PARALLEL_THRESHOLD = SystemProperties.getInteger(
+            ItemRollup.class.getName() + ".threshold", 10_000);
+
+    /** Lists of sub items with fewer items are aggregated by the current task instead of a forked task. */
+    private static final int MIN_FORK_SIZE = 8;
+
+    /** Number of items of one list that are aggregated by a single task. */
+    private static final int BATCH_SIZE = 64;
+
+    /** Below this depth subtrees are aggregated sequentially, so the recursion of the tasks stays shallow. */
+    private static final int MAX_PARALLEL_DEPTH = 16;
+
+    /** If more tasks than this are queued, subtrees are aggregated sequentially by the current task. */
+    private static final int MAX_SURPLUS_TASKS = 3;
+
+    private ItemRollup() {
+        // prevents instantiation
+    }
+
+    /**
+     * Aggregates the results of the given items. The values are added together, grouped by key.
+     *
+     * @param items
+     *         the items to aggregate
+     *
+     * @return the aggregated result
+     */
+    public static LinkedHashMap<String, Integer> aggregate(@CheckForNull final List<Item> items) {
+        if (items == null) {
+            return new LinkedHashMap<>();
+        }
+        if (isSmall(items, false)) {
+            return aggregateSequentially(items, 0, items.size(), false);
+        }
+
+        return ForkJoinPool.commonPool().invoke(new RollupTask(items, 0, items.size(), 0, false));
+    }
+
+    /**
+     * Freezes the given items and all their sub items. The results of the items are computed bottom-up, in parallel
+     * for large trees.
+     *
+     * @param items
+     *         the items to freeze
+     */
+    public static void freeze(final List<Item> items) {
+        if (isSmall(items, true)) {
+            aggregateSequentially(items, 0, items.size(), true);
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(new RollupTask(items, 0, items.size(), 0, true));
+        }
+    }
+
+    /**
+     * Returns whether fewer than {@link #PARALLEL_THRESHOLD} items have to be visited to aggregate the given items.
+     * The sub items of items whose results are known are not counted, and the count stops at the threshold.
+     */
+    private static boolean isSmall(final List<Item> items, final boolean freeze) {
+        int[] count = {0};
+        ItemTraversal.preOrder(items).accept((item, parent, depth) -> {
+            if (++count[0] >= PARALLEL_THRESHOLD) {
+                return ItemVisitor.Result.TERMINATE;
+            }
+            return needsRollup(item, freeze) ? ItemVisitor.Result.CONTINUE : ItemVisitor.Result.SKIP_CHILDREN;
+        });
+        return count[0] < PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * Returns whether the sub items of the given item have to be aggregated (or frozen) to compute its result. This
+     * is only checked for the item itself, so the sub items are not traversed.
+     */
+    private static boolean needsRollup(final Item item, final boolean freeze) {
+        return !item.isFrozen() && item.hasItems() && (freeze || item.result == null);
+    }
+
+    private static LinkedHashMap<String, Integer> aggregateSequentially(final List<Item> items, final int from,
+            final int to, final boolean freeze) {
+        if (!freeze) {
+            return Item.computeResult(items.subList(from, to));
+        }
+
+        LinkedHashMap<String, Integer> sum = new LinkedHashMap<>();
+        for (Item item : items.subList(from, to)) {
+            item.freezeSubtree();
+            merge(sum, item.getResult());
+        }
+        return sum;
+    }
+
+    private static void merge(final Map<String, Integer> sum, final Map<String, Integer> values) {
+        values.forEach((key, value) -> sum.merge(key, value, Integer::sum));
+    }
+
+    /**
+     * Aggregates a range of a list of sibling items. Ranges are split in halves until they are small enough, then
+     * the sub items of all items in the range are aggregated by new tasks. Tasks for long lists of sub items are
+     * forked, tasks for short lists are computed by the current task.
+     */
+    private static class RollupTask extends RecursiveTask<LinkedHashMap<String, Integer>> {
+
+        private static final long serialVersionUID = 4205583617360236018L;
+
+        private final transient List<Item> items;
+        private final int from;
+        private final int to;
+        private final int depth;
+        private final boolean freeze;
+
+        RollupTask(final List<Item> items, final int from, final int to, final int depth, final boolean freeze) {
+            super();
+
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+            this.freeze = freeze;
+        }
+
+        @Override
+        protected LinkedHashMap<String, Integer> compute() {
+            if (depth >= MAX_PARALLEL_DEPTH || getSurplusQueuedTaskCount() > MAX_SURPLUS_TASKS) {
+                return aggregateSequentially(items, from, to, freeze);
+            }
+
+            if (to - from > BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                RollupTask left = new RollupTask(items, from, middle, depth, freeze);
+                RollupTask right = new RollupTask(items, middle, to, depth, freeze);
+                left.fork();
+                LinkedHashMap<String, Integer> rightResult = right.compute();
+                LinkedHashMap<String, Integer> sum = left.join();
+                merge(sum, rightResult);
+                return sum;
+            }
+
+            RollupTask[] subtasks = new RollupTask[to - from];
+            List<RollupTask> inline = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                Item item = items.get(i);
+                if (needsRollup(item, freeze)) {
+                    List<Item> children = item.getItems();
+                    RollupTask subtask = new RollupTask(children, 0, children.size(), depth + 1, freeze);
+                    if (children.size() >= MIN_FORK_SIZE) {
+                        subtask.fork();
+                    }
+                    else {
+                        inline.add(subtask);
+                    }
+                    subtasks[i - from] = subtask;
+                }
+            }
+            inline.forEach(RollupTask::invoke);
+
+            LinkedHashMap<String, Integer> sum = new LinkedHashMap<>();
+            for (int i = from; i < to; i++) {
+                merge(sum, rollup(items.get(i), subtasks[i - from]));
+            }
+            return sum;
+        }
+
+        private Map<String, Integer> rollup(final Item item, @CheckForNull final RollupTask subtask) {
+            if (subtask == null) {
+                if (freeze) {
+                    item.freezeSubtree();
+                }
+                return item.getResult();
+            }
+
+            LinkedHashMap<String, Integer> result = subtask.join();
+            if (freeze) {
+                item.freezeWith(result);
+                return item.getResult();
+            }
+            return result;
+        }
+    }
+}
@@ -33,22 +33,36 @@ public class ItemSeriesBuilder extends SeriesBuilder<ReportResult> {
     protected Map<String, Integer> computeSeries(ReportResult reportResult) {
 
         if (item.getId().equals(ReportAction.REPORT_ID)) {
-
-            if (item.getResult().size() == 1) {
-                return reportResult.getReport().getItems().stream()
-                        .collect(Collectors.toMap(Item::getId, Item::getTotal));
-            }
-
-            return reportResult.getReport().aggregate();
+            // the series of the whole report is part of the summary, so the report need not be loaded
+            return reportResult.getSummary().getSeries();
         }
         
-        Item parent = reportResult.getReport().findItem(item.getId()).orElse(new Item());
+        Report report = reportResult.getReport();
+        Item parent = report.findItem(item.getId()).orElse(new Item());
+        
+        return computeSeries(report, parent, item.getResult().size() == 1);
+    }
+
+    /**
+     * Computes the series of an item in a report.
+     *
+     * @param report
+     *          the report that contains the item.
+     * @param parent
+     *          the item to compute the series for.
+     * @param totals
+     *          {@code true} to use the totals of the sub items as series, {@code false} to use the aggregated 
+     *          results of the sub items.
+     *
+     * @return the series of the item
+     */
+    public static Map<String, Integer> computeSeries(Report report, Item parent, boolean totals) {
         List<Item> items = parent.hasItems() ? parent.getItems() : Collections.singletonList(parent);
         
-        if (item.getResult().size() == 1) {
+        if (totals) {
             return items.stream().collect(Collectors.toMap(Item::getId, Item::getTotal));
         }
 
-        return reportResult.getReport().aggregate(items);
+        return report.aggregate(items);
     }
 }
\ No newline at end of file
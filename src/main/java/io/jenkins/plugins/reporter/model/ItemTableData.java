@@ -0,0 +1,219 @@
+package io.jenkins.plugins.reporter.model;
+
+import hudson.Util;
+import jenkins.util.SystemProperties;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The rendered content of an {@link ItemTableModel}: the labels of all cells and the segments of the distribution
+ * bars. Unlike the model, the data does not reference the report, so it can be cached and persisted without keeping
+ * the report in memory.
+ *
+ * <p>
+ * Tables with more than {@link #PAGING_THRESHOLD} rows do not contain any rows. These tables are rendered by the
+ * browser page by page, the visible rows are requested from the server.
+ * </p>
+ */
+public class ItemTableData implements Serializable {
+
+    private static final long serialVersionUID = -6153048232547710834L;
+
+    /** Tables with more rows are paged, sorted and filtered by the server. */
+    static final int PAGING_THRESHOLD = SystemProperties.getInteger(
+            ItemTableData.class.getName() + ".pagingThreshold", 1000);
+
+    private final String id;
+    private final boolean serverSide;
+    private final List<String> headers;
+    private final List<Row> rows;
+    private final List<String> totals;
+
+    /**
+     * Creates the data of the given table model.
+     *
+     * @param model
+     *         the table model
+     */
+    public ItemTableData(final ItemTableModel model) {
+        this.id = model.getId();
+        this.headers = new ArrayList<>();
+        model.getColumns().forEach(column -> headers.add(column.getHeaderLabel()));
+        this.serverSide = model.getRowCount() > PAGING_THRESHOLD;
+        this.rows = new ArrayList<>();
+        if (!serverSide) {
+            for (ItemTableModel.ItemRow row : model.getRows()) {
+                rows.add(new Row(row));
+            }
+        }
+        this.totals = new ArrayList<>();
+        model.getItem().getResult().values().forEach(value -> totals.add(model.label(value)));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the labels of the result columns.
+     *
+     * @return the labels
+     */
+    public List<String> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * Returns whether the rows are paged, sorted and filtered by the server.
+     *
+     * @return {@code true} if the rows are requested page by page, {@code false} if all rows are rendered
+     */
+    public boolean isServerSide() {
+        return serverSide;
+    }
+
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Returns the labels of the totals of the result columns.
+     *
+     * @return the labels
+     */
+    public List<String> getTotals() {
+        return Collections.unmodifiableList(totals);
+    }
+
+    /**
+     * A table row that shows the properties of an item.
+     */
+    public static class Row implements Serializable {
+
+        private static final long serialVersionUID = 4125937705167389124L;
+
+        private final String id;
+        private final String name;
+        private final boolean linked;
+        private final List<String> cells;
+        private final List<Segment> segments;
+
+        /**
+         * Creates the data of the given row.
+         *
+         * @param row
+         *         the row of the table model
+         */
+        public Row(final ItemTableModel.ItemRow row) {
+            Item item = row.getItem();
+            this.id = row.getId();
+            this.name = row.getName();
+            this.linked = item.getResult().size() > 1 || item.getResult().size() == 1 && item.hasItems();
+            this.cells = new ArrayList<>();
+            item.getResult().forEach((key, value) -> cells.add(row.label(key, value)));
+            this.segments = new ArrayList<>();
+            row.getColors().keySet().stream().filter(row::containsColorItem).forEach(colorId -> {
+                double percentage = row.getPercentage(colorId);
+                segments.add(new Segment(colorId, row.getColor(colorId), percentage,
+                        row.tooltip(colorId, percentage)));
+            });
+        }
+
+        /**
+         * Returns the encoded ID of the item, i.e. the relative URL of its details.
+         *
+         * @return the encoded ID
+         */
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns whether the details of the item are linked.
+         *
+         * @return {@code true} if the item has details, {@code false} otherwise
+         */
+        public boolean isLinked() {
+            return linked;
+        }
+
+        public List<String> getCells() {
+            return Collections.unmodifiableList(cells);
+        }
+
+        public List<Segment> getSegments() {
+            return Collections.unmodifiableList(segments);
+        }
+
+        /**
+         * Renders the cells of this row as HTML, in the same way as the table view does.
+         *
+         * @return the cells as HTML: the name, the result columns and the distribution
+         */
+        public List<String> toHtml() {
+            List<String> html = new ArrayList<>();
+            if (linked) {
+                html.add(String.format("<a href=\"%s/\" data-bs-toggle=\"tooltip\" data-bs-placement=\"left\" "
+                        + "title=\"%s\">%s</a>", Util.escape(id), Util.escape(name), Util.escape(name)));
+            }
+            else {
+                html.add(Util.escape(name));
+            }
+            cells.forEach(cell -> html.add(Util.escape(cell)));
+
+            StringBuilder distribution = new StringBuilder("<div>");
+            for (Segment segment : segments) {
+                distribution.append(String.format("<span id=\"tooltip-%s-%s\" class=\"distribution\" "
+                        + "style=\"width: %s%%; background-color: %s\" data-bs-toggle=\"tooltip\" "
+                        + "data-bs-placement=\"left\" title=\"%s\">.</span>", Util.escape(id),
+                        Util.escape(segment.id), segment.percentage, Util.escape(segment.color),
+                        Util.escape(segment.tooltip)));
+            }
+            html.add(distribution.append("</div>").toString());
+            return html;
+        }
+    }
+
+    /**
+     * A segment of the distribution bar of a row.
+     */
+    public static class Segment implements Serializable {
+
+        private static final long serialVersionUID = -1486637815390823658L;
+
+        private final String id;
+        private final String color;
+        private final double percentage;
+        private final String tooltip;
+
+        Segment(final String id, final String color, final double percentage, final String tooltip) {
+            this.id = id;
+            this.color = color;
+            this.percentage = percentage;
+            this.tooltip = tooltip;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getColor() {
+            return color;
+        }
+
+        public double getPercentage() {
+            return percentage;
+        }
+
+        public String getTooltip() {
+            return tooltip;
+        }
+    }
+}
@@ -6,10 +6,13 @@ import org.apache.commons.text.CaseUtils;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Provides the model for the item table. The model displays the distribution for the subitems and the id column is 
@@ -64,6 +67,56 @@ public class ItemTableModel {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns the number of rows of the table.
+     *
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return item.getItems().size();
+    }
+
+    /**
+     * Returns the row at the given position, without creating the other rows.
+     *
+     * @param index
+     *         the position of the row in the items of the item
+     *
+     * @return the row
+     */
+    public ItemRow getRow(final int index) {
+        return new ItemRow(report, item.getItems().get(index), this);
+    }
+
+    /**
+     * Creates the ascending sort order of the rows by the given column. Column 0 is the name, the following columns
+     * are the result columns, and the last column, the distribution, is sorted by the total of the items.
+     *
+     * @param column
+     *         the column to sort by
+     *
+     * @return the positions of the rows in the sort order
+     */
+    public int[] createOrder(final int column) {
+        List<Item> items = item.getItems();
+        List<String> properties = new ArrayList<>(item.getResult().keySet());
+
+        Comparator<Integer> comparator;
+        if (column <= 0) {
+            comparator = Comparator.comparing(index -> items.get(index).getName(), 
+                    Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+        }
+        else if (column <= properties.size()) {
+            String property = properties.get(column - 1);
+            comparator = Comparator.comparingInt(index -> items.get(index).getResult().getOrDefault(property, 0));
+        }
+        else {
+            comparator = Comparator.comparingInt(index -> items.get(index).getTotal());
+        }
+
+        return IntStream.range(0, items.size()).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+    }
+
     protected TableColumn createResultAbsoluteColumn(String property) {
         return new TableColumn.ColumnBuilder()
                 .withDataPropertyKey(String.format("%s-absolute", property))
@@ -136,8 +189,20 @@ public class ItemTableModel {
             return true;
         }
 
+        /**
+         * Returns the colors of the distribution of this row: the color of the item if the items of the report have 
+         * a single result, otherwise the colors of the results of the item.
+         *
+         * @return the colors by id
+         */
         public Map<String, String> getColors() {
-            return report.getColors();
+            Map<String, String> colors = new LinkedHashMap<>();
+            if (report.aggregate().size() == 1) {
+                colors.put(item.getId(), report.getColor(item.getId()));
+            } else {
+                item.getResult().keySet().forEach(id -> colors.put(id, report.getColor(id)));
+            }
+            return colors;
         }
 
         public String getColor(String id) {
@@ -0,0 +1,250 @@
+package io.jenkins.plugins.reporter.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterative traversal of a tree of {@link Item items}. The traversal uses an explicit stack or queue instead of
+ * recursion, so that deep trees (e.g. from path-like CSV hierarchies) neither overflow the stack nor need intermediate
+ * flattened lists. Items can be consumed with an {@link ItemVisitor}, an {@link Iterator} or a {@link Stream}.
+ *
+ * <pre>{@code
+ * ItemTraversal.preOrder(report.getItems()).maxDepth(2).stream()
+ *         .filter(item -> item.getTotal() > 0)
+ *         ...
+ * }</pre>
+ */
+public final class ItemTraversal implements Iterable<Item> {
+
+    /**
+     * The order in which the items are visited.
+     */
+    public enum Order {
+        /** Depth first, an item is visited before its sub items. */
+        PRE_ORDER,
+        /** Depth first, an item is visited after its sub items. */
+        POST_ORDER,
+        /** Level by level, all items of one depth are visited before the items of the next depth. */
+        BREADTH_FIRST
+    }
+
+    private final List<Item> roots;
+
+    private final Order order;
+
+    private final int maxDepth;
+
+    private ItemTraversal(final List<Item> roots, final Order order, final int maxDepth) {
+        this.roots = roots == null ? Collections.emptyList() : roots;
+        this.order = order;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Creates a depth first traversal that visits each item before its sub items.
+     *
+     * @param roots
+     *         the items to start with
+     *
+     * @return the traversal
+     */
+    public static ItemTraversal preOrder(@CheckForNull final List<Item> roots) {
+        return new ItemTraversal(roots, Order.PRE_ORDER, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a depth first traversal that visits each item after its sub items.
+     *
+     * @param roots
+     *         the items to start with
+     *
+     * @return the traversal
+     */
+    public static ItemTraversal postOrder(@CheckForNull final List<Item> roots) {
+        return new ItemTraversal(roots, Order.POST_ORDER, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a traversal that visits the items level by level.
+     *
+     * @param roots
+     *         the items to start with
+     *
+     * @return the traversal
+     */
+    public static ItemTraversal breadthFirst(@CheckForNull final List<Item> roots) {
+        return new ItemTraversal(roots, Order.BREADTH_FIRST, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a traversal that does not descend below the given depth. The start items have depth 0, so a maximum
+     * depth of 0 visits only the start items.
+     *
+     * @param depth
+     *         the maximum depth to visit
+     *
+     * @return the depth-limited traversal
+     */
+    public ItemTraversal maxDepth(final int depth) {
+        return new ItemTraversal(roots, order, depth);
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Visits all items with the given visitor.
+     *
+     * @param visitor
+     *         the visitor
+     */
+    public void accept(final ItemVisitor visitor) {
+        Cursor cursor = new Cursor();
+        while (cursor.hasNext()) {
+            Frame frame = cursor.nextFrame();
+            ItemVisitor.Result result = visitor.visit(frame.item, frame.parent, frame.depth);
+            if (result == ItemVisitor.Result.TERMINATE) {
+                return;
+            }
+            if (result == ItemVisitor.Result.SKIP_CHILDREN) {
+                cursor.skipChildren();
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Item> iterator() {
+        return new Cursor();
+    }
+
+    @Override
+    public Spliterator<Item> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a sequential stream of the visited items. The items are visited lazily while the stream is consumed.
+     *
+     * @return the stream of items
+     */
+    public Stream<Item> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * An item in the traversal together with its parent and depth.
+     */
+    private static final class Frame {
+        private final Item item;
+        private final Item parent;
+        private final int depth;
+        private int next;
+
+        Frame(final Item item, final Item parent, final int depth) {
+            this.item = item;
+            this.parent = parent;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Iterator over the frames of the traversal. In pre-order and breadth-first order, the sub items of the last
+     * returned item are expanded lazily when the cursor advances, so they can still be skipped.
+     */
+    private final class Cursor implements Iterator<Item> {
+        private final Deque<Frame> pending = new ArrayDeque<>();
+        private Frame current;
+        private boolean expand;
+
+        Cursor() {
+            if (order == Order.BREADTH_FIRST) {
+                roots.forEach(root -> pending.addLast(new Frame(root, null, 0)));
+            }
+            else {
+                for (int i = roots.size() - 1; i >= 0; i--) {
+                    pending.addFirst(new Frame(roots.get(i), null, 0));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            expandCurrent();
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public Item next() {
+            return nextFrame().item;
+        }
+
+        Frame nextFrame() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more items in traversal");
+            }
+
+            if (order == Order.POST_ORDER) {
+                return nextPostOrderFrame();
+            }
+
+            current = pending.removeFirst();
+            expand = true;
+            return current;
+        }
+
+        void skipChildren() {
+            expand = false;
+        }
+
+        private Frame nextPostOrderFrame() {
+            while (true) {
+                Frame frame = pending.getFirst();
+                List<Item> children = childrenOf(frame);
+                if (frame.next < children.size()) {
+                    pending.addFirst(new Frame(children.get(frame.next++), frame.item, frame.depth + 1));
+                }
+                else {
+                    return pending.removeFirst();
+                }
+            }
+        }
+
+        private void expandCurrent() {
+            if (!expand) {
+                return;
+            }
+            expand = false;
+
+            List<Item> children = childrenOf(current);
+            if (order == Order.BREADTH_FIRST) {
+                children.forEach(child -> pending.addLast(new Frame(child, current.item, current.depth + 1)));
+            }
+            else {
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    pending.addFirst(new Frame(children.get(i), current.item, current.depth + 1));
+                }
+            }
+        }
+
+        private List<Item> childrenOf(final Frame frame) {
+            List<Item> children = frame.item.getItems();
+            if (children == null || frame.depth >= maxDepth) {
+                return Collections.emptyList();
+            }
+            return children;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.jenkins.plugins.reporter.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * Visitor for the items of a report tree. Used by {@link ItemTraversal#accept(ItemVisitor)} to walk through deep trees
+ * without recursion.
+ */
+@FunctionalInterface
+public interface ItemVisitor {
+
+    /**
+     * Controls how the traversal continues after an item has been visited.
+     */
+    enum Result {
+        /** Continue with the next item. */
+        CONTINUE,
+        /** Do not visit the sub items of the current item. Ignored in {@link ItemTraversal.Order#POST_ORDER}. */
+        SKIP_CHILDREN,
+        /** Stop the traversal. */
+        TERMINATE
+    }
+
+    /**
+     * Visits an item.
+     *
+     * @param item
+     *         the visited item
+     * @param parent
+     *         the parent of the visited item or {@code null} if the item is one of the start items of the traversal
+     * @param depth
+     *         the depth of the item, the start items of the traversal have depth 0
+     *
+     * @return how to continue the traversal
+     */
+    Result visit(Item item, @CheckForNull Item parent, int depth);
+}
@@ -13,11 +13,15 @@ public class Report extends ReportBase implements Serializable {
 
     private static final long serialVersionUID = 302445084497230108L;
 
-    private static final String DEFAULT_COLOR = "#9E9E9E";
+    static final String DEFAULT_COLOR = "#9E9E9E";
     
-    private final List<String> infoMessages;
+    // Replaced by diagnostics, only read from old builds
+    private List<String> infoMessages;
     
-    private final List<String> errorMessages;
+    // Replaced by diagnostics, only read from old builds
+    private List<String> errorMessages;
+    
+    private Diagnostics diagnostics;
     
     private DisplayType displayType = DisplayType.ABSOLUTE;
     
@@ -31,24 +35,138 @@ public class Report extends ReportBase implements Serializable {
     
     private Map<String, String> colors;
     
+    private transient volatile boolean frozen;
+    
+    private transient List<Item> frozenItems;
+    
+    private transient List<Report> frozenSubReports;
+    
+    private transient Map<String, String> frozenColors;
+    
+    private transient Map<String, Integer> frozenTotals;
+    
     public Report() {
         this("-");
     }
     
     public Report(String name) {
-        this.infoMessages = new ArrayList<>();
-        this.errorMessages = new ArrayList<>();
+        this.diagnostics = new Diagnostics();
         this.subReports = new ArrayList<>();
         this.colors = new HashMap<>();
         this.items = new ArrayList<>();
         this.name = name;
     }
 
+    /**
+     * Called after de-serialization to retain backward compatibility.
+     *
+     * @return this
+     */
+    protected Object readResolve() {
+        if (diagnostics == null) {
+            diagnostics = new Diagnostics(Diagnostics.PUBLISHED_CAPACITY);
+            if (infoMessages != null) {
+                infoMessages.forEach(message -> diagnostics.add(Diagnostics.Severity.INFO, message, message));
+            }
+            if (errorMessages != null) {
+                errorMessages.forEach(message -> diagnostics.add(Diagnostics.Severity.ERROR, message, message));
+            }
+        }
+        infoMessages = null;
+        errorMessages = null;
+        
+        return this;
+    }
+
+    /**
+     * Freezes this report after it has been published. The lists of items and sub reports are trimmed, all items are
+     * {@link Item#freeze() frozen}, the aggregated totals are computed once and the sample messages are reduced to
+     * {@link Diagnostics#PUBLISHED_CAPACITY} and {@link Diagnostics#freeze(int) frozen}. Afterwards the report is
+     * immutable: all getters return unmodifiable collections and all modifying methods throw an
+     * {@link UnsupportedOperationException}. A frozen report can be shared between threads, e.g. by caches and
+     * concurrent request handlers, without locking or copying.
+     * 
+     * <p>
+     * Freezing is idempotent. Since the state is not persisted, a report has to be frozen again after it has been
+     * loaded from disk.
+     * </p>
+     */
+    public synchronized void freeze() {
+        if (frozen) {
+            return;
+        }
+        
+        diagnostics.freeze(Diagnostics.PUBLISHED_CAPACITY);
+        
+        items = new ArrayList<>(getItems());
+        ItemRollup.freeze(items);
+        frozenItems = Collections.unmodifiableList(items);
+        
+        subReports = subReports == null ? new ArrayList<>() : new ArrayList<>(subReports);
+        subReports.forEach(Report::freeze);
+        frozenSubReports = Collections.unmodifiableList(subReports);
+        
+        colors = new HashMap<>(getColors());
+        frozenColors = Collections.unmodifiableMap(colors);
+        
+        frozenTotals = Collections.unmodifiableMap(aggregate(items));
+        frozen = true;
+    }
+
+    /**
+     * Returns a frozen copy of this frozen report without items and sub reports. The copy is used as header of the 
+     * report, if the items are stored outside the {@code build.xml} of the run.
+     *
+     * @return the header of this report
+     */
+    public Report withoutItems() {
+        return copy(Collections.emptyList());
+    }
+
+    /**
+     * Returns a frozen copy of this frozen report with the given items, e.g. the items that have been read from a
+     * report store for a header.
+     *
+     * @param storedItems
+     *          the frozen items of the report
+     *
+     * @return the report with the given items
+     */
+    public Report withItems(List<Item> storedItems) {
+        return copy(storedItems);
+    }
+    
+    private Report copy(List<Item> itemsOfCopy) {
+        if (!frozen) {
+            throw new IllegalStateException(String.format("Report with ID='%s' is not frozen.", id));
+        }
+        
+        Report copy = new Report(name);
+        copy.id = id;
+        copy.displayType = displayType;
+        copy.diagnostics = diagnostics;
+        copy.colors = colors;
+        copy.items = itemsOfCopy;
+        copy.freeze();
+        
+        return copy;
+    }
+
+    /**
+     * Returns whether this report has been frozen.
+     *
+     * @return {@code true} if the report is immutable, {@code false} otherwise
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     public String getId() {
         return id;
     }
 
     public void setId(String id) {
+        checkNotFrozen();
         this.id = id;
     }
 
@@ -58,14 +176,20 @@ public class Report extends ReportBase implements Serializable {
     }
 
     public void setName(String name) {
+        checkNotFrozen();
         this.name = name;
     }
     
     public List<Report> getSubReports() {
+        if (frozen) {
+            return frozenSubReports;
+        }
+        
         return subReports;
     }
 
     public void setSubReports(List<Report> subReports) {
+        checkNotFrozen();
         this.subReports = subReports;
     }
 
@@ -74,10 +198,15 @@ public class Report extends ReportBase implements Serializable {
     }
 
     public void setDisplayType(DisplayType displayType) {
+        checkNotFrozen();
         this.displayType = displayType;
     }
 
     public List<Item> getItems() {
+        if (frozen) {
+            return frozenItems;
+        }
+        
         if (items == null) {
             return Collections.emptyList();
         }
@@ -86,10 +215,15 @@ public class Report extends ReportBase implements Serializable {
     }
 
     public void setItems(List<Item> items) {
+        checkNotFrozen();
         this.items = items;
     }
 
     public Map<String, String> getColors() {
+        if (frozen) {
+            return frozenColors;
+        }
+        
         if (colors == null) {
             return Collections.emptyMap();
         }
@@ -98,10 +232,12 @@ public class Report extends ReportBase implements Serializable {
     }
 
     public void setColors(Map<String, String> colors) {
+        checkNotFrozen();
         this.colors = colors;
     }
     
     public void add(Report report) {
+        checkNotFrozen();
         
         if (StringUtils.isEmpty(id)) {
             setId(report.getId());
@@ -112,8 +248,7 @@ public class Report extends ReportBase implements Serializable {
             logInfo("Add report with ID='%s'.", report.getId());
             
             this.subReports.add(report);
-            this.infoMessages.addAll(report.getInfoMessages());
-            this.errorMessages.addAll(report.getErrorMessages());
+            this.diagnostics.addAll(report.getDiagnostics());
             addColors(report.getColors());
             addItems(report.getItems());
             logInfo("Successfully added report with ID='%s'", report.getId());
@@ -123,16 +258,62 @@ public class Report extends ReportBase implements Serializable {
         }
     }
     
+    /**
+     * Returns the diagnostics with the counters, categories and sample messages of this report.
+     *
+     * @return the diagnostics
+     */
+    public Diagnostics getDiagnostics() {
+        return this.diagnostics;
+    }
+    
+    /**
+     * Reduces the sample messages of this report and all sub reports to the given capacity. Called before the report
+     * is published so that the persisted size of the messages is bounded.
+     *
+     * @param capacity
+     *          the number of samples to keep for each severity
+     */
+    public void trimDiagnostics(int capacity) {
+        checkNotFrozen();
+        this.diagnostics.trim(capacity);
+        getSubReports().forEach(report -> report.trimDiagnostics(capacity));
+    }
+    
+    /**
+     * Returns the latest info messages of this report. Older messages are only counted by the 
+     * {@link #getDiagnostics() diagnostics}.
+     *
+     * @return the latest info messages
+     */
     public List<String> getInfoMessages() {
-        return this.infoMessages;
+        return this.diagnostics.getSamples(Diagnostics.Severity.INFO);
     }
 
+    /**
+     * Returns the latest error messages of this report. Older messages are only counted by the 
+     * {@link #getDiagnostics() diagnostics}.
+     *
+     * @return the latest error messages
+     */
     public List<String> getErrorMessages() {
-        return this.errorMessages;
+        return this.diagnostics.getSamples(Diagnostics.Severity.ERROR);
     }
 
+    /**
+     * Returns the color of the given id. Colors that are not defined by the report are derived from the id, see 
+     * {@link ColorPalette#getColor(String)}.
+     *
+     * @param id
+     *              the id of the item or result.
+     * @return the color as hex string.
+     */
     public String getColor(String id) {
-        String color = getColors().getOrDefault(id, DEFAULT_COLOR);
+        String color = getColors().get(id);
+        
+        if (color == null) {
+            return ColorPalette.getColor(id);
+        }
 
         if (!color.startsWith("#")) {
             try {
@@ -161,11 +342,7 @@ public class Report extends ReportBase implements Serializable {
      * @return the aggregated result.
      */
     public LinkedHashMap<String, Integer> aggregate(List<Item> items) {
-        return items
-                .stream()
-                .map(Item::getResult)
-                .flatMap(map -> map.entrySet().stream())
-                .collect(Collectors.groupingBy(Map.Entry::getKey, LinkedHashMap::new, Collectors.summingInt(Map.Entry::getValue)));
+        return ItemRollup.aggregate(items);
     }
 
     public Optional<Item> findItem(String id) {
@@ -175,30 +352,42 @@ public class Report extends ReportBase implements Serializable {
     
     public List<String> getColorIds() {
         if (aggregate().size() == 1) {
-            return flattItems(getItems()).stream().map(Item::getId).collect(Collectors.toList());
+            return ItemTraversal.postOrder(getItems()).stream().map(Item::getId).collect(Collectors.toList());
         }
 
         return new ArrayList<>(aggregate().keySet());
     }
  
-    public LinkedHashMap<String, Integer> aggregate() {
+    /**
+     * Aggregates the results of all items of this report. For a frozen report the precomputed totals are returned. 
+     *
+     * @return the aggregated result.
+     */
+    public Map<String, Integer> aggregate() {
+        if (frozen) {
+            return frozenTotals;
+        }
+        
         return aggregate(getItems());
     }
     
     @FormatMethod
     public void logInfo(String format, Object... args) {
-        this.infoMessages.add(String.format(format, args));
+        checkNotFrozen();
+        this.diagnostics.add(Diagnostics.Severity.INFO, format, String.format(format, args));
     }
 
     @FormatMethod
     public void logError(String format, Object... args) {
-        this.errorMessages.add(String.format(format, args));
+        checkNotFrozen();
+        this.diagnostics.add(Diagnostics.Severity.ERROR, format, String.format(format, args));
     }
 
     @FormatMethod
     public void logException(Exception exception, String format, Object... args) {
-        this.logError(format, args);
-        Collections.addAll(this.errorMessages, ExceptionUtils.getRootCauseStackTrace(exception));
+        checkNotFrozen();
+        String stackTrace = String.join("\n", ExceptionUtils.getRootCauseStackTrace(exception));
+        this.diagnostics.add(Diagnostics.Severity.ERROR, format, String.format(format, args) + "\n" + stackTrace);
     }
     
     private void addColors(Map<String, String> colors) {
@@ -212,7 +401,7 @@ public class Report extends ReportBase implements Serializable {
             
             if (parent.isPresent()) {
                 if (item.hasItems()) {
-                    merge(item, item.getItems());
+                    merge(item);
                 }
             } else {
                 logInfo("Add item wih ID='%s' to items.", item.getId());
@@ -221,21 +410,36 @@ public class Report extends ReportBase implements Serializable {
         }
     }
     
-    private void merge(Item parentItem, List<Item> itemsToMerge) {
-        for (Item item : itemsToMerge) {
+    /**
+     * Merges the leaves of the given item into the items of this report. Each leaf is added to the item of this 
+     * report that has the same ID as the parent of the leaf.
+     *
+     * @param itemToMerge
+     *          the item with the leaves to merge
+     */
+    private void merge(Item itemToMerge) {
+        ItemTraversal.preOrder(itemToMerge.getItems()).accept((item, parent, depth) -> {
             if (item.hasItems()) {
-                merge(item, item.getItems());
+                return ItemVisitor.Result.CONTINUE;
+            }
+            
+            Item parentItem = parent == null ? itemToMerge : parent;
+            Optional<Item> found = findItem(parentItem.getId(), items);
+
+            if (found.isPresent()) {
+                logInfo("Add item with ID='%s' to parent item with ID='%s'.", item.getId(), found.get().getId());
+                found.get().addItem(item);
             } else {
-                Optional<Item> found = findItem(parentItem.getId(), items);
-                
-                if (found.isPresent()) {
-                    logInfo("Add item with ID='%s' to parent item with ID='%s'.", item.getId(), found.get().getId());
-                    Item parent = found.get();
-                    parent.addItem(item);
-                } else {
-                    logError("No parent item found for ID='%s' in items.", parentItem.getId());
-                }
+                logError("No parent item found for ID='%s' in items.", parentItem.getId());
             }
+            
+            return ItemVisitor.Result.CONTINUE;
+        });
+    }
+    
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException(String.format("Report with ID='%s' is frozen.", id));
         }
     }
 }
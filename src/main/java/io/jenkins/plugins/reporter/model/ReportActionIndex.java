@@ -0,0 +1,123 @@
+package io.jenkins.plugins.reporter.model;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.ReportAction;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Indexes the {@link ReportAction report actions} of each build by their ID, so that a report is selected from a
+ * build without scanning all actions of the build. The actions register themselves when they are attached to a
+ * build or loaded with their build.
+ *
+ * <p>
+ * Each build has a concurrent index of its own. The indexes are found in one of {@link #STRIPES} weak maps, selected
+ * by the identity of the build, so lookups of different builds rarely wait for each other. The builds and the actions
+ * are referenced weakly, so the index does not keep builds in memory that have been unloaded by Jenkins. If a build
+ * contains several reports with the same ID, the first one is indexed.
+ * </p>
+ *
+ * <p>
+ * An action that is attached to a build replaces an indexed action with the same ID, while an action that is loaded
+ * with its build is only indexed if the ID is not indexed yet. A lookup is a single map access: the build references
+ * its actions, so an indexed action is only cleared by the garbage collector if it has been removed from the build.
+ * Only then the actions of the build are searched for a report with the ID.
+ * </p>
+ */
+public final class ReportActionIndex {
+
+    /** The number of maps the indexes of the builds are distributed to. */
+    private static final int STRIPES = 64;
+
+    @SuppressWarnings("unchecked")
+    private static final Map<Run<?, ?>, ConcurrentMap<String, WeakReference<ReportAction>>>[] INDEXES
+            = new Map[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            INDEXES[i] = new WeakHashMap<>();
+        }
+    }
+
+    private ReportActionIndex() {
+        // prevents instantiation
+    }
+
+    /**
+     * Registers an action that has been attached to the given build. The action replaces an indexed action with the
+     * same ID.
+     *
+     * @param run
+     *         the build
+     * @param action
+     *         the action
+     */
+    public static void register(final Run<?, ?> run, final ReportAction action) {
+        getIndex(run, true).put(action.getId(), new WeakReference<>(action));
+    }
+
+    /**
+     * Registers an action that has been loaded with the given build. The action is only indexed if no other action
+     * of the build with the same ID is indexed.
+     *
+     * @param run
+     *         the build
+     * @param action
+     *         the action
+     */
+    public static void load(final Run<?, ?> run, final ReportAction action) {
+        getIndex(run, true).compute(action.getId(), (id, registered) ->
+                registered != null && registered.get() != null ? registered : new WeakReference<>(action));
+    }
+
+    /**
+     * Returns the action of the build with the given ID.
+     *
+     * @param run
+     *         the build
+     * @param id
+     *         the ID of the report
+     *
+     * @return the action, or an empty optional if the build contains no report with this ID
+     */
+    public static Optional<ReportAction> get(final Run<?, ?> run, final String id) {
+        ConcurrentMap<String, WeakReference<ReportAction>> index = getIndex(run, false);
+        if (index == null) {
+            return Optional.empty();
+        }
+
+        WeakReference<ReportAction> registered = index.get(id);
+        if (registered == null) {
+            return Optional.empty();
+        }
+
+        ReportAction action = registered.get();
+        if (action != null) {
+            return Optional.of(action);
+        }
+
+        // the action has been removed from the build
+        index.remove(id, registered);
+        Optional<ReportAction> attached = run.getActions(ReportAction.class).stream()
+                .filter(candidate -> id.equals(candidate.getId()))
+                .findFirst();
+        attached.ifPresent(replacement -> load(run, replacement));
+        return attached;
+    }
+
+    @CheckForNull
+    private static ConcurrentMap<String, WeakReference<ReportAction>> getIndex(final Run<?, ?> run,
+            final boolean create) {
+        Map<Run<?, ?>, ConcurrentMap<String, WeakReference<ReportAction>>> indexes
+                = INDEXES[Math.floorMod(System.identityHashCode(run), STRIPES)];
+        synchronized (indexes) {
+            return create ? indexes.computeIfAbsent(run, key -> new ConcurrentHashMap<>()) : indexes.get(run);
+        }
+    }
+}
@@ -5,15 +5,30 @@ import edu.hm.hafner.echarts.Build;
 import edu.hm.hafner.echarts.BuildResult;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.Job;
 import hudson.model.Run;
 import io.jenkins.plugins.reporter.ReportAction;
 import io.jenkins.plugins.reporter.ReportResult;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
-public class ReportHistory implements History {
+/**
+ * The history of a report, starting from a baseline build and going back in history. If the report is selected by
+ * its ID, the builds that contain the report are taken from the {@link HistoryCache}, so builds without the report are
+ * not loaded.
+ *
+ * <p>
+ * A history that is created {@link #withPrefetchedReports() with prefetched reports} loads the reports of the next 
+ * builds in the background with a {@link HistoryLoader}. Such a history should be {@link #close() closed} when it is 
+ * not iterated any more, so that reports of builds that are not used are not loaded.
+ * </p>
+ */
+public class ReportHistory implements History, AutoCloseable {
 
     private static final int MIN_BUILDS = 2;
 
@@ -21,6 +36,10 @@ public class ReportHistory implements History {
 
     private final ResultSelector selector;
 
+    private final boolean prefetchReports;
+
+    private final List<HistoryLoader> loaders = new ArrayList<>();
+
     /**
      * Creates a new instance of {@link ReportHistory}.
      *
@@ -30,8 +49,32 @@ public class ReportHistory implements History {
      *         selects the associated action from a build
      */
     public ReportHistory(Run<?, ?> baseline, ResultSelector selector) {
+        this(baseline, selector, false);
+    }
+
+    private ReportHistory(Run<?, ?> baseline, ResultSelector selector, boolean prefetchReports) {
         this.baseline = baseline;
         this.selector = selector;
+        this.prefetchReports = prefetchReports;
+    }
+
+    /**
+     * Returns a history of the same builds that loads the reports of the next builds in the background while it is
+     * iterated. Use this history if the report of each build is needed, not only its summary.
+     *
+     * @return the history
+     */
+    public ReportHistory withPrefetchedReports() {
+        return new ReportHistory(baseline, selector, true);
+    }
+
+    /**
+     * Cancels the loading of all prefetched reports that have not been returned by the iterators of this history.
+     */
+    @Override
+    public void close() {
+        loaders.forEach(HistoryLoader::close);
+        loaders.clear();
     }
 
     @Override
@@ -62,12 +105,30 @@ public class ReportHistory implements History {
     @NonNull
     @Override
     public Iterator<BuildResult<ReportResult>> iterator() {
+        if (prefetchReports) {
+            HistoryLoader loader = new HistoryLoader(createIterator());
+            loaders.add(loader);
+            return loader;
+        }
+        return createIterator();
+    }
+
+    private Iterator<BuildResult<ReportResult>> createIterator() {
+        Optional<List<HistoryCache.Entry>> entries = getCachedEntries();
+        if (entries.isPresent()) {
+            return new CachedResultIterator(baseline, entries.get(), selector);
+        }
         return new ReportResultIterator(baseline, selector);
     }
 
     @Override
     public boolean hasMultipleResults() {
-        Iterator<BuildResult<ReportResult>> iterator = iterator();
+        Optional<List<HistoryCache.Entry>> entries = getCachedEntries();
+        if (entries.isPresent()) {
+            return entries.get().size() >= MIN_BUILDS;
+        }
+        
+        Iterator<BuildResult<ReportResult>> iterator = createIterator();
         for (int count = 1; iterator.hasNext(); count++) {
             if (count >= MIN_BUILDS) {
                 return true;
@@ -77,7 +138,46 @@ public class ReportHistory implements History {
         return false;
     }
 
+    /**
+     * Returns the cached builds up to the baseline that contain the report, if the report is selected by its ID.
+     *
+     * @return the cached builds, starting with the latest build
+     */
+    private Optional<List<HistoryCache.Entry>> getCachedEntries() {
+        if (baseline == null || !(selector instanceof ByIdResultSelector)) {
+            return Optional.empty();
+        }
+        
+        String id = ((ByIdResultSelector) selector).getId();
+        List<HistoryCache.Entry> entries = filterBaseline(HistoryCache.get().getEntries(baseline.getParent(), id));
+        if (isStale(entries)) {
+            HistoryCache.get().invalidate(baseline.getParent(), id);
+            entries = filterBaseline(HistoryCache.get().getEntries(baseline.getParent(), id));
+        }
+        return Optional.of(entries);
+    }
+
+    private List<HistoryCache.Entry> filterBaseline(final List<HistoryCache.Entry> entries) {
+        int number = baseline.getNumber();
+        return entries.stream().filter(entry -> entry.getNumber() <= number).collect(Collectors.toList());
+    }
+
+    /**
+     * Checks if the cached builds miss the baseline, e.g. if the report has been published after the history has been 
+     * cached.
+     */
+    private boolean isStale(final List<HistoryCache.Entry> entries) {
+        boolean cached = !entries.isEmpty() && entries.get(0).getNumber() == baseline.getNumber();
+        return cached != selector.get(baseline).isPresent();
+    }
+
     private Optional<ReportAction> getPreviousAction() {
+        Optional<List<HistoryCache.Entry>> entries = getCachedEntries();
+        if (entries.isPresent()) {
+            CachedResultIterator iterator = new CachedResultIterator(baseline, entries.get(), selector);
+            return iterator.hasNext() ? iterator.nextAction() : Optional.empty();
+        }
+        
         Optional<Run<?, ?>> run = getRunWithResult(baseline, selector);
         if (run.isPresent()) {
             return selector.get(run.get());
@@ -140,4 +240,66 @@ public class ReportHistory implements History {
             throw new NoSuchElementException("No more runs with an report: " + cursor);
         }
     }
+
+    /**
+     * Provides an iterator of analysis results for the cached builds that contain the report.
+     */
+    private static class CachedResultIterator implements Iterator<BuildResult<ReportResult>> {
+        private final Job<?, ?> job;
+        private final Iterator<HistoryCache.Entry> entries;
+        private final ResultSelector selector;
+        
+        @CheckForNull
+        private Run<?, ?> nextRun;
+        @CheckForNull
+        private ReportAction nextAction;
+
+        CachedResultIterator(final Run<?, ?> baseline, final List<HistoryCache.Entry> entries, 
+                             final ResultSelector selector) {
+            this.job = baseline.getParent();
+            this.entries = entries.iterator();
+            this.selector = selector;
+            
+            advance();
+        }
+
+        /**
+         * Loads the next cached build that still contains the report.
+         */
+        private void advance() {
+            nextRun = null;
+            nextAction = null;
+            while (entries.hasNext() && nextAction == null) {
+                Run<?, ?> run = job.getBuildByNumber(entries.next().getNumber());
+                if (run != null) {
+                    Optional<ReportAction> action = selector.get(run);
+                    if (action.isPresent()) {
+                        nextRun = run;
+                        nextAction = action.get();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextAction != null;
+        }
+
+        Optional<ReportAction> nextAction() {
+            return Optional.ofNullable(nextAction);
+        }
+
+        @Override
+        public BuildResult<ReportResult> next() {
+            if (nextRun == null || nextAction == null) {
+                throw new NoSuchElementException("No more runs with an report");
+            }
+            
+            BuildResult<ReportResult> result = new BuildResult<>(new Build(nextRun.getNumber(), 
+                    nextRun.getDisplayName(), (int) (nextRun.getTimeInMillis() / 1000)), nextAction.getResult());
+            advance();
+            return result;
+        }
+    }
 }
@@ -4,11 +4,11 @@ import edu.hm.hafner.echarts.SeriesBuilder;
 import io.jenkins.plugins.reporter.ReportResult;
 
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Builds one x-axis point for the series of a line chart showing the parts 
- * of a report from json model. The results of all items are aggregated.
+ * of a report from json model. The results of all items are aggregated. The values are taken from the 
+ * {@link ReportSummary summary} of the report, so the reports of the builds need not be loaded.
  *
  * @author Simon Symhoven
  */
@@ -17,14 +17,7 @@ public class ReportSeriesBuilder extends SeriesBuilder<ReportResult> {
     @Override
     protected Map<String, Integer> computeSeries(ReportResult reportResult) {
 
-        Map<String, Integer> result = reportResult.getReport().aggregate();
-
-        if (result.size() == 1) {
-            return reportResult.getReport().getItems().stream()
-                    .collect(Collectors.toMap(Item::getId, Item::getTotal));
-        }
-
-        return result;
+        return reportResult.getSummary().getSeries();
     }
 
 }
\ No newline at end of file
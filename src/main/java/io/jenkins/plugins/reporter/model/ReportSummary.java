@@ -0,0 +1,130 @@
+package io.jenkins.plugins.reporter.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small summary of a frozen {@link Report} that is stored with the actions of a run. It contains everything that is
+ * needed to show the report in lists and trend charts, so the complete report only has to be loaded when its details
+ * are shown.
+ */
+public class ReportSummary implements Serializable {
+
+    private static final long serialVersionUID = -6329051573880254214L;
+
+    private final String id;
+
+    private final String name;
+
+    private final DisplayType displayType;
+
+    private final LinkedHashMap<String, Integer> totals;
+
+    private final LinkedHashMap<String, Integer> series;
+
+    private final HashMap<String, String> seriesLabels;
+
+    private final HashMap<String, String> seriesColors;
+
+    private final long infoCount;
+
+    private final long errorCount;
+
+    /**
+     * Creates the summary of the given report.
+     *
+     * @param report
+     *         the report to summarize
+     */
+    public ReportSummary(final Report report) {
+        this.id = report.getId();
+        this.name = report.getName();
+        this.displayType = report.getDisplayType();
+        this.totals = new LinkedHashMap<>(report.aggregate());
+
+        this.series = new LinkedHashMap<>();
+        this.seriesLabels = new HashMap<>();
+        if (totals.size() == 1) {
+            // with a single result the trend shows the totals of the top level items
+            for (Item item : report.getItems()) {
+                series.put(item.getId(), item.getTotal());
+                seriesLabels.put(item.getId(), item.getName());
+            }
+        }
+        else {
+            series.putAll(totals);
+        }
+
+        this.seriesColors = new HashMap<>();
+        series.keySet().forEach(key -> seriesColors.put(key, report.getColor(key)));
+
+        this.infoCount = report.getDiagnostics().getCount(Diagnostics.Severity.INFO);
+        this.errorCount = report.getDiagnostics().getCount(Diagnostics.Severity.ERROR);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DisplayType getDisplayType() {
+        return displayType;
+    }
+
+    /**
+     * Returns the aggregated results of all items of the report.
+     *
+     * @return the totals
+     */
+    public Map<String, Integer> getTotals() {
+        return Collections.unmodifiableMap(totals);
+    }
+
+    /**
+     * Returns the values of the report for the trend chart of the job. If the report has a single result, these are
+     * the totals of the top level items, otherwise the {@link #getTotals() totals} of the report.
+     *
+     * @return the values for the trend chart
+     */
+    public Map<String, Integer> getSeries() {
+        return Collections.unmodifiableMap(series);
+    }
+
+    /**
+     * Returns the label of a series of the trend chart.
+     *
+     * @param seriesId
+     *         the ID of the series
+     *
+     * @return the name of the item for series of top level items, the ID otherwise
+     */
+    public String getSeriesLabel(final String seriesId) {
+        return seriesLabels.getOrDefault(seriesId, seriesId);
+    }
+
+    /**
+     * Returns the color of a series of the trend chart.
+     *
+     * @param seriesId
+     *         the ID of the series
+     *
+     * @return the color
+     */
+    public String getSeriesColor(final String seriesId) {
+        return seriesColors.getOrDefault(seriesId, Report.DEFAULT_COLOR);
+    }
+
+    public long getInfoCount() {
+        return infoCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+}
@@ -0,0 +1,121 @@
+package io.jenkins.plugins.reporter.steps;
+
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.ReportAction;
+import io.jenkins.plugins.reporter.model.HistoryCache;
+import io.jenkins.plugins.reporter.tasks.PostPublishQueue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the {@link ReportAction actions} that are published by one {@link ReportRecorder} pass and attaches them
+ * to the build at once. Concurrent transactions of the same build (e.g. of parallel pipeline branches) are
+ * coordinated: the actions of each transaction are attached when it is committed, while holding the lock of the
+ * build, but the build is saved only once when the last open transaction of the build is committed. The shared
+ * bookkeeping of the open transactions is never locked while a build is locked.
+ */
+final class PublishTransaction {
+
+    private static final Logger LOGGER = Logger.getLogger(PublishTransaction.class.getName());
+
+    /** The open transactions per build. */
+    private static final Map<Run<?, ?>, OpenTransactions> OPEN_TRANSACTIONS = new HashMap<>();
+
+    private final Run<?, ?> run;
+
+    private final List<ReportAction> actions = new ArrayList<>();
+
+    private boolean committed;
+
+    private PublishTransaction(final Run<?, ?> run) {
+        this.run = run;
+    }
+
+    /**
+     * Begins a new transaction for the given build. The transaction must be {@link #commit() committed} in any case,
+     * otherwise the build is not saved by concurrent transactions anymore.
+     *
+     * @param run
+     *         the build to attach the actions to
+     *
+     * @return the transaction
+     */
+    static PublishTransaction begin(final Run<?, ?> run) {
+        synchronized (OPEN_TRANSACTIONS) {
+            OPEN_TRANSACTIONS.computeIfAbsent(run, key -> new OpenTransactions()).count++;
+        }
+        return new PublishTransaction(run);
+    }
+
+    /**
+     * Adds an action that will be attached when this transaction is committed.
+     *
+     * @param action
+     *         the action to attach
+     */
+    synchronized void add(final ReportAction action) {
+        if (committed) {
+            throw new IllegalStateException("Transaction is already committed");
+        }
+        actions.add(action);
+    }
+
+    /**
+     * Attaches all collected actions to the build. If no other transaction of the build is open anymore, the build is
+     * saved afterwards. Finally, the {@link PostPublishQueue post-publish tasks} of the actions are enqueued.
+     */
+    void commit() {
+        synchronized (this) {
+            if (committed) {
+                return;
+            }
+            committed = true;
+        }
+
+        // attached before this transaction is closed, so the last transaction saves the actions of all others
+        synchronized (run) {
+            for (ReportAction action : actions) {
+                run.addAction(action);
+            }
+        }
+
+        boolean save;
+        synchronized (OPEN_TRANSACTIONS) {
+            OpenTransactions open = OPEN_TRANSACTIONS.get(run);
+            open.modified |= !actions.isEmpty();
+            open.count--;
+            save = open.count == 0 && open.modified;
+            if (open.count == 0) {
+                OPEN_TRANSACTIONS.remove(run);
+            }
+        }
+
+        if (save) {
+            try {
+                run.save();
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, String.format("Can't save published reports of %s", run), exception);
+            }
+        }
+
+        for (ReportAction action : actions) {
+            HistoryCache.get().invalidate(run.getParent(), action.getId());
+            PostPublishQueue.get().enqueue(run, action.getId());
+        }
+    }
+
+    /**
+     * The state of the transactions of a build that are not committed yet.
+     */
+    private static final class OpenTransactions {
+        private int count;
+        private boolean modified;
+    }
+}
@@ -3,9 +3,13 @@ package io.jenkins.plugins.reporter.steps;
 import hudson.model.Run;
 import io.jenkins.plugins.reporter.ReportAction;
 import io.jenkins.plugins.reporter.ReportResult;
+import io.jenkins.plugins.reporter.ReportingConfiguration;
 import io.jenkins.plugins.reporter.model.Report;
+import io.jenkins.plugins.reporter.storage.ReportStorage;
 import io.jenkins.plugins.util.LogHandler;
 
+import java.io.IOException;
+
 public class ReportPublisher {
 
     private final Run<?, ?> run;
@@ -20,14 +24,42 @@ public class ReportPublisher {
         this.logger = logger;
     }
     
-    ReportAction attachAction() {
-        ReportResult result = new ReportResult(run, report);
+    /**
+     * Stores the report and creates the action that shows it. The action is attached to the build when the given
+     * transaction is committed, derived data like the trend indexes is updated in the background afterwards.
+     *
+     * @param transaction
+     *         the transaction that attaches the action
+     *
+     * @return the created action
+     */
+    ReportAction attachAction(final PublishTransaction transaction) {
+        report.freeze();
+        ReportResult result = createResult(ReportingConfiguration.get().getStorage());
         ReportAction action = new ReportAction(run, result, report.getName());
-        run.addAction(action);
+        transaction.add(action);
         
         return action;
     }
 
+    private ReportResult createResult(final ReportStorage storage) {
+        if (storage.isInline()) {
+            return new ReportResult(run, report);
+        }
+        
+        try {
+            storage.getStore().write(run, report);
+            
+            return new ReportResult(run, report, storage);
+        }
+        catch (IOException exception) {
+            logger.log("Can't write report with ID='%s' to storage %s, storing it inline: %s", 
+                    getId(), storage.getDisplayName(), exception.getMessage());
+            
+            return new ReportResult(run, report);
+        }
+    }
+
     private String getId() {
         return report.getId();
     }
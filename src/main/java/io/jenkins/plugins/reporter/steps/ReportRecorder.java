@@ -153,34 +153,40 @@ public class ReportRecorder extends Recorder {
         
         ReportResult lastResult = null;
         
-        // Process all configured reports
-        for (ReportConfiguration config : reports) {
-            if (config.getProvider() == null) {
-                continue;
+        // Attach all reports of this pass at once and save the build only once
+        PublishTransaction transaction = PublishTransaction.begin(run);
+        try {
+            for (ReportConfiguration config : reports) {
+                if (config.getProvider() == null) {
+                    continue;
+                }
+
+                Report report = scan(run, workspace, listener, config.getProvider());
+                report.setName(config.getName());
+
+                DisplayType dt = Arrays.stream(DisplayType.values())
+                        .filter(e -> e.name().toLowerCase(Locale.ROOT).equals(config.getDisplayType()))
+                        .findFirst().orElse(DisplayType.ABSOLUTE);
+
+                report.setDisplayType(dt);
+
+                lastResult = publishReport(run, listener, config.getProvider().getSymbolName(), report, transaction);
             }
-            
-            Report report = scan(run, workspace, listener, config.getProvider());
-            report.setName(config.getName());
-
-            DisplayType dt = Arrays.stream(DisplayType.values())
-                    .filter(e -> e.name().toLowerCase(Locale.ROOT).equals(config.getDisplayType()))
-                    .findFirst().orElse(DisplayType.ABSOLUTE);
-            
-            report.setDisplayType(dt);
-            
-            lastResult = publishReport(run, listener, config.getProvider().getSymbolName(), report);
+        }
+        finally {
+            transaction.commit();
         }
         
         return lastResult;
     }
 
     ReportResult publishReport(final Run<?, ?> run, final TaskListener listener,
-                               final String loggerName, final Report report) {
+                               final String loggerName, final Report report, final PublishTransaction transaction) {
        
         ReportPublisher publisher = new ReportPublisher(run, report,
                 new LogHandler(listener, loggerName, new FilteredLog("ReportsPublisher")));
         
-        ReportAction action = publisher.attachAction();
+        ReportAction action = publisher.attachAction(transaction);
         
         return action.getResult();
     }
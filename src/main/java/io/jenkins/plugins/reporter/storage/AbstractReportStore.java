@@ -0,0 +1,69 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.ReportScanner;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Base class for report stores that write the reports of a run to files in the
+ * {@link ReportScanner#REPORTS_DIRECTORY reports directory} of the build folder.
+ */
+abstract class AbstractReportStore implements ReportStore {
+
+    /**
+     * Returns the file for the report with the given ID.
+     *
+     * @param run
+     *         the run that published the report
+     * @param id
+     *         the ID of the report
+     * @param suffix
+     *         the suffix of the file
+     *
+     * @return the file
+     */
+    protected Path getFile(final Run<?, ?> run, final String id, final String suffix) {
+        return run.getRootDir().toPath()
+                .resolve(ReportScanner.REPORTS_DIRECTORY)
+                .resolve(URLEncoder.encode(id, StandardCharsets.UTF_8) + suffix);
+    }
+
+    /**
+     * Writes a file atomically: the content is written to a temporary file that replaces the file afterwards. So
+     * readers never see a partially written report.
+     *
+     * @param file
+     *         the file to write
+     * @param writer
+     *         writes the content to the given temporary file
+     *
+     * @throws IOException
+     *         if the file could not be written
+     */
+    protected void writeAtomically(final Path file, final ContentWriter writer) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            writer.write(temp);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    protected interface ContentWriter {
+        void write(Path file) throws IOException;
+    }
+}
@@ -0,0 +1,142 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.model.Item;
+import io.jenkins.plugins.reporter.model.ItemTraversal;
+import io.jenkins.plugins.reporter.model.Report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores the items of reports in the content-addressed {@link ObjectStore} of the job, so that subtrees that did not
+ * change between builds are stored only once. Each build stores only the entries of its root items, that reference
+ * the objects of the subtrees. The remaining parts of the report (e.g. colors and diagnostics) are stored as header
+ * by an {@link XmlReportStore}.
+ *
+ * <p>
+ * When a report is written, the hashes of all subtrees are computed bottom-up, but only objects that do not exist yet
+ * are written. Only the references of new objects and of the root items are counted, since the sub items of an
+ * existing object are already referenced by that object. When a build is deleted, the references of its root items
+ * are removed and unreferenced objects are deleted recursively.
+ * </p>
+ */
+public class DeduplicatedReportStore extends AbstractReportStore {
+
+    private static final String SUFFIX = ".roots";
+
+    private final XmlReportStore headers = new XmlReportStore();
+
+    @Override
+    public void write(final Run<?, ?> run, final Report report) throws IOException {
+        ObjectStore objects = ObjectStore.of(run.getParent());
+
+        synchronized (objects.getLock()) {
+            Map<Item, String> hashes = new IdentityHashMap<>();
+            Set<String> written = new HashSet<>();
+            for (Item item : ItemTraversal.postOrder(report.getItems())) {
+                if (!item.hasItems()) {
+                    continue; // embedded into the object of the parent
+                }
+
+                byte[] content = SubtreeCodec.encodeObject(item, hashes::get);
+                String hash = SubtreeCodec.hash(content);
+                if (!written.contains(hash) && !objects.contains(hash)) {
+                    objects.write(hash, content);
+                    written.add(hash);
+                    for (Item child : item.getItems()) {
+                        if (child.hasItems()) {
+                            objects.addReference(hashes.get(child));
+                        }
+                    }
+                }
+                item.getItems().forEach(hashes::remove);
+                hashes.put(item, hash);
+            }
+
+            byte[] roots = SubtreeCodec.encodeRoots(report.getItems(), hashes::get);
+            writeAtomically(getFile(run, report.getId(), SUFFIX), file -> Files.write(file, roots));
+            for (String hash : SubtreeCodec.getReferences(SubtreeCodec.decodeRoots(roots))) {
+                objects.addReference(hash);
+            }
+            objects.save();
+        }
+
+        headers.write(run, report.withoutItems());
+    }
+
+    @Override
+    public Report read(final Run<?, ?> run, final String id) throws IOException {
+        Report header = headers.read(run, id);
+        ObjectStore objects = ObjectStore.of(run.getParent());
+
+        List<Item> roots = new ArrayList<>();
+        Deque<Pending> pending = new ArrayDeque<>();
+        pending.push(new Pending(roots, SubtreeCodec.decodeRoots(Files.readAllBytes(getFile(run, id, SUFFIX)))));
+        while (!pending.isEmpty()) {
+            Pending current = pending.pop();
+            for (SubtreeCodec.Entry entry : current.entries) {
+                if (entry.isReference()) {
+                    SubtreeCodec.Node node = SubtreeCodec.decodeObject(objects.read(entry.getHash()));
+                    Item item = node.createItem();
+                    List<Item> children = new ArrayList<>();
+                    item.setItems(children);
+                    current.items.add(item);
+                    pending.push(new Pending(children, node.getEntries()));
+                }
+                else {
+                    current.items.add(entry.getNode().createItem());
+                }
+            }
+        }
+
+        return header.withItems(roots);
+    }
+
+    @Override
+    public void delete(final Run<?, ?> run, final String id) throws IOException {
+        Path file = getFile(run, id, SUFFIX);
+        if (Files.exists(file)) {
+            ObjectStore objects = ObjectStore.of(run.getParent());
+
+            synchronized (objects.getLock()) {
+                Deque<String> unreferenced = new ArrayDeque<>(
+                        SubtreeCodec.getReferences(SubtreeCodec.decodeRoots(Files.readAllBytes(file))));
+                while (!unreferenced.isEmpty()) {
+                    String hash = unreferenced.pop();
+                    if (objects.removeReference(hash) && objects.contains(hash)) {
+                        SubtreeCodec.Node node = SubtreeCodec.decodeObject(objects.read(hash));
+                        SubtreeCodec.getReferences(node.getEntries()).forEach(unreferenced::push);
+                        objects.delete(hash);
+                    }
+                }
+                objects.save();
+                Files.delete(file);
+            }
+        }
+
+        headers.delete(run, id);
+    }
+
+    /**
+     * Entries that still have to be decoded into the list of sub items of their parent.
+     */
+    private static final class Pending {
+        private final List<Item> items;
+        private final List<SubtreeCodec.Entry> entries;
+
+        Pending(final List<Item> items, final List<SubtreeCodec.Entry> entries) {
+            this.items = items;
+            this.entries = entries;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.model.Job;
+import io.jenkins.plugins.reporter.ReportingConfiguration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines how long the details of published reports are kept. The details of a build are kept if the build is one
+ * of the latest {@link #getBuilds() builds} of the job or if it is younger than the given number of
+ * {@link #getDays() days}. Older builds are pruned to the summary of their reports by the {@link ReportPruner}. A
+ * value of 0 disables the corresponding limit, so all details are kept if both values are 0.
+ */
+public final class DetailRetention {
+
+    private static final DetailRetention UNLIMITED = new DetailRetention(0, 0);
+
+    private final int builds;
+
+    private final int days;
+
+    /**
+     * Creates a new instance of {@link DetailRetention}.
+     *
+     * @param builds
+     *         the number of latest builds whose details are kept, 0 to ignore the number of builds
+     * @param days
+     *         the number of days the details of a build are kept, 0 to ignore the age of builds
+     */
+    public DetailRetention(final int builds, final int days) {
+        this.builds = Math.max(0, builds);
+        this.days = Math.max(0, days);
+    }
+
+    /**
+     * Returns the retention that keeps all details.
+     *
+     * @return the unlimited retention
+     */
+    public static DetailRetention unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Returns the retention of the given job: the retention of its {@link ReportRetentionProperty} if defined,
+     * otherwise the global retention.
+     *
+     * @param job
+     *         the job
+     *
+     * @return the retention
+     */
+    public static DetailRetention of(final Job<?, ?> job) {
+        ReportRetentionProperty property = job.getProperty(ReportRetentionProperty.class);
+        if (property != null) {
+            return property.getDetailRetention();
+        }
+        return ReportingConfiguration.get().getDetailRetention();
+    }
+
+    public int getBuilds() {
+        return builds;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Returns whether all details are kept.
+     *
+     * @return {@code true} if no limit is defined, {@code false} otherwise
+     */
+    public boolean isUnlimited() {
+        return builds == 0 && days == 0;
+    }
+
+    /**
+     * Returns whether the details of a build are kept.
+     *
+     * @param position
+     *         the position of the build in the job, 0 for the latest build
+     * @param buildTime
+     *         the time the build has been started in milliseconds
+     * @param now
+     *         the current time in milliseconds
+     *
+     * @return {@code true} if the details are kept, {@code false} if they can be pruned
+     */
+    public boolean keepsDetails(final int position, final long buildTime, final long now) {
+        if (isUnlimited()) {
+            return true;
+        }
+        if (builds > 0 && position < builds) {
+            return true;
+        }
+        return days > 0 && now - buildTime < TimeUnit.DAYS.toMillis(days);
+    }
+}
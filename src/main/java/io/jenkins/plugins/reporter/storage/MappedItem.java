@@ -0,0 +1,92 @@
+package io.jenkins.plugins.reporter.storage;
+
+import io.jenkins.plugins.reporter.model.Item;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Flyweight, read-only view of an item in a {@link MappedReportFile}. The item holds only the position of its node,
+ * all values are decoded from the mapped file when they are requested. A mapped item is always frozen. Sub items are
+ * looked up by comparing the IDs in the mapped file, so a lookup neither creates the other sub items nor an index.
+ */
+final class MappedItem extends Item {
+
+    private static final long serialVersionUID = 1740526823011649573L;
+
+    private final transient MappedReportFile file;
+
+    private final int node;
+
+    MappedItem(final MappedReportFile file, final int node) {
+        super();
+
+        this.file = file;
+        this.node = node;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
+    @Override
+    public String getId() {
+        return file.getId(node);
+    }
+
+    @Override
+    public String getName() {
+        return file.getName(node);
+    }
+
+    @Override
+    public Map<String, Integer> getResult() {
+        return file.getResult(node);
+    }
+
+    @Override
+    public int getTotal() {
+        return file.getTotal(node);
+    }
+
+    @Override
+    public List<Item> getItems() {
+        int count = file.getChildCount(node);
+        return count == 0 ? null : file.getItems(file.getFirstChild(node), count);
+    }
+
+    @Override
+    public Optional<Item> findItem(final String itemId) {
+        if (itemId == null) {
+            return Optional.empty();
+        }
+
+        int child = file.findChild(node, itemId);
+        return child < 0 ? Optional.empty() : Optional.of(new MappedItem(file, child));
+    }
+
+    @Override
+    public boolean hasItems() {
+        return file.getChildCount(node) > 0;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MappedItem that = (MappedItem) o;
+        return node == that.node && file == that.file;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(file), node);
+    }
+}
@@ -0,0 +1,332 @@
+package io.jenkins.plugins.reporter.storage;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import io.jenkins.plugins.reporter.model.Item;
+import io.jenkins.plugins.reporter.model.ItemTraversal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Binary file with the items of a report that is read through a memory-mapped buffer. Nodes are only decoded when
+ * they are accessed, so reading a report touches only the pages of the items that are actually shown.
+ *
+ * <p>
+ * All values are big-endian {@code int}s. The file consists of these sections:
+ * </p>
+ * <ol>
+ *     <li>Header: magic number, version, number of nodes, number of root nodes, number of result entries and number
+ *     of strings.</li>
+ *     <li>Nodes in breadth-first order, so the root items come first and the sub items of each node are contiguous.
+ *     Each node has the string index of its ID and name, the index of its first sub item, the number of sub items,
+ *     the index of its first result entry, the number of result entries and the total.</li>
+ *     <li>Result entries: string index of the key and value. Each node has its rolled-up result, so no node has to
+ *     visit its sub items to compute its result.</li>
+ *     <li>Strings: the offsets of the strings, followed by the UTF-8 encoded strings. Each string is stored once.</li>
+ * </ol>
+ */
+final class MappedReportFile {
+
+    private static final int MAGIC = 0x4e445252;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+    private static final int NODE_SIZE = 7 * Integer.BYTES;
+    private static final int RESULT_SIZE = 2 * Integer.BYTES;
+
+    private static final int ID = 0;
+    private static final int NAME = 4;
+    private static final int FIRST_CHILD = 8;
+    private static final int CHILD_COUNT = 12;
+    private static final int FIRST_RESULT = 16;
+    private static final int RESULT_COUNT = 20;
+    private static final int TOTAL = 24;
+
+    private static final int NO_STRING = -1;
+
+    private final ByteBuffer buffer;
+    private final int rootCount;
+    private final int resultsOffset;
+    private final int stringOffsetsOffset;
+    private final int stringsOffset;
+
+    private MappedReportFile(final ByteBuffer buffer, final int nodeCount, final int rootCount, final int resultCount,
+            final int stringCount) throws IOException {
+        this.buffer = buffer;
+        this.rootCount = rootCount;
+
+        long results = HEADER_SIZE + (long) nodeCount * NODE_SIZE;
+        long stringOffsets = results + (long) resultCount * RESULT_SIZE;
+        long strings = stringOffsets + (long) (stringCount + 1) * Integer.BYTES;
+        if (strings > buffer.limit()) {
+            throw new IOException("Report file is truncated");
+        }
+
+        this.resultsOffset = (int) results;
+        this.stringOffsetsOffset = (int) stringOffsets;
+        this.stringsOffset = (int) strings;
+    }
+
+    /**
+     * Maps the given file into memory.
+     *
+     * @param path
+     *         the file to map
+     *
+     * @return the mapped file
+     * @throws IOException
+     *         if the file cannot be read or has an invalid format
+     */
+    static MappedReportFile open(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < HEADER_SIZE) {
+                throw new IOException(String.format("Report file '%s' has an invalid size of %d bytes", path, size));
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(String.format("File '%s' is not a report file", path));
+            }
+
+            return new MappedReportFile(buffer, buffer.getInt(8), buffer.getInt(12), buffer.getInt(16),
+                    buffer.getInt(20));
+        }
+    }
+
+    /**
+     * Writes the given frozen items to a report file.
+     *
+     * @param items
+     *         the root items of the report
+     * @param path
+     *         the file to write
+     *
+     * @throws IOException
+     *         if the file cannot be written
+     */
+    static void write(final List<Item> items, final Path path) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        int nodeCount = 0;
+        long resultCount = 0;
+        for (Item item : ItemTraversal.breadthFirst(items)) {
+            intern(strings, item.getId());
+            intern(strings, item.getName());
+            item.getResult().keySet().forEach(key -> intern(strings, key));
+            nodeCount++;
+            resultCount += item.getResult().size();
+        }
+
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        long stringsSize = 0;
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            stringsSize += bytes.length;
+        }
+
+        long size = HEADER_SIZE + (long) nodeCount * NODE_SIZE + resultCount * RESULT_SIZE
+                + (long) (strings.size() + 1) * Integer.BYTES + stringsSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(String.format("Report with %d items is too large for a report file", nodeCount));
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(nodeCount);
+            output.writeInt(items.size());
+            output.writeInt((int) resultCount);
+            output.writeInt(strings.size());
+
+            // the sub items of the nodes are appended to the breadth-first order in the same order as their parents
+            int nextChild = items.size();
+            int nextResult = 0;
+            for (Item item : ItemTraversal.breadthFirst(items)) {
+                int childCount = item.getItems() == null ? 0 : item.getItems().size();
+                Map<String, Integer> result = item.getResult();
+                output.writeInt(indexOf(strings, item.getId()));
+                output.writeInt(indexOf(strings, item.getName()));
+                output.writeInt(nextChild);
+                output.writeInt(childCount);
+                output.writeInt(nextResult);
+                output.writeInt(result.size());
+                output.writeInt(item.getTotal());
+                nextChild += childCount;
+                nextResult += result.size();
+            }
+
+            for (Item item : ItemTraversal.breadthFirst(items)) {
+                for (Map.Entry<String, Integer> entry : item.getResult().entrySet()) {
+                    output.writeInt(indexOf(strings, entry.getKey()));
+                    output.writeInt(entry.getValue());
+                }
+            }
+
+            int offset = 0;
+            output.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                offset += bytes.length;
+                output.writeInt(offset);
+            }
+            for (byte[] bytes : encoded) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static void intern(final Map<String, Integer> strings, @CheckForNull final String value) {
+        if (value != null) {
+            strings.putIfAbsent(value, strings.size());
+        }
+    }
+
+    private static int indexOf(final Map<String, Integer> strings, @CheckForNull final String value) {
+        return value == null ? NO_STRING : strings.get(value);
+    }
+
+    /**
+     * Returns the root items of the report.
+     *
+     * @return the root items
+     */
+    List<Item> getRootItems() {
+        return getItems(0, rootCount);
+    }
+
+    List<Item> getItems(final int first, final int count) {
+        return new MappedItemList(first, count);
+    }
+
+    @CheckForNull
+    String getId(final int node) {
+        return getString(getNodeValue(node, ID));
+    }
+
+    @CheckForNull
+    String getName(final int node) {
+        return getString(getNodeValue(node, NAME));
+    }
+
+    int getFirstChild(final int node) {
+        return getNodeValue(node, FIRST_CHILD);
+    }
+
+    int getChildCount(final int node) {
+        return getNodeValue(node, CHILD_COUNT);
+    }
+
+    /**
+     * Returns the first sub item of a node with the given ID. The IDs of the sub items are compared with the encoded
+     * ID in the mapped file, so neither items nor strings are created for the other sub items.
+     *
+     * @param node
+     *         the node
+     * @param id
+     *         the ID of the sub item
+     *
+     * @return the node of the sub item, or -1 if the node has no sub item with the ID
+     */
+    int findChild(final int node, final String id) {
+        byte[] encoded = id.getBytes(StandardCharsets.UTF_8);
+        int first = getFirstChild(node);
+        int last = first + getChildCount(node);
+        for (int child = first; child < last; child++) {
+            if (matches(getNodeValue(child, ID), encoded)) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    int getTotal(final int node) {
+        return getNodeValue(node, TOTAL);
+    }
+
+    Map<String, Integer> getResult(final int node) {
+        int first = getNodeValue(node, FIRST_RESULT);
+        int count = getNodeValue(node, RESULT_COUNT);
+
+        LinkedHashMap<String, Integer> result = new LinkedHashMap<>();
+        for (int i = first; i < first + count; i++) {
+            int position = resultsOffset + i * RESULT_SIZE;
+            result.put(getString(buffer.getInt(position)), buffer.getInt(position + Integer.BYTES));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private int getNodeValue(final int node, final int field) {
+        return buffer.getInt(HEADER_SIZE + node * NODE_SIZE + field);
+    }
+
+    private boolean matches(final int index, final byte[] encoded) {
+        if (index == NO_STRING) {
+            return false;
+        }
+
+        int start = buffer.getInt(stringOffsetsOffset + index * Integer.BYTES);
+        int end = buffer.getInt(stringOffsetsOffset + (index + 1) * Integer.BYTES);
+        if (end - start != encoded.length) {
+            return false;
+        }
+        for (int i = 0; i < encoded.length; i++) {
+            if (buffer.get(stringsOffset + start + i) != encoded[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @CheckForNull
+    private String getString(final int index) {
+        if (index == NO_STRING) {
+            return null;
+        }
+
+        int start = buffer.getInt(stringOffsetsOffset + index * Integer.BYTES);
+        int end = buffer.getInt(stringOffsetsOffset + (index + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringsOffset + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read-only list of contiguous nodes that creates the flyweight items on access.
+     */
+    private final class MappedItemList extends AbstractList<Item> implements RandomAccess {
+        private final int first;
+        private final int count;
+
+        MappedItemList(final int first, final int count) {
+            this.first = first;
+            this.count = count;
+        }
+
+        @Override
+        public Item get(final int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException(String.format("Index %d, size %d", index, count));
+            }
+            return new MappedItem(MappedReportFile.this, first + index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
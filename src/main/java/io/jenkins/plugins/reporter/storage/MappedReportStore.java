@@ -0,0 +1,40 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.model.Report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Stores the items of a report in a {@link MappedReportFile} in the build directory. Reading a report only maps the
+ * file, the items are returned as flyweight {@link MappedItem views} that are decoded on demand. So the items of
+ * reports from many builds can be accessed without keeping them on the heap. The remaining parts of the report (e.g.
+ * colors and diagnostics) are stored as header by an {@link XmlReportStore}.
+ */
+public class MappedReportStore extends AbstractReportStore {
+
+    private static final String SUFFIX = ".bin";
+
+    private final XmlReportStore headers = new XmlReportStore();
+
+    @Override
+    public void write(final Run<?, ?> run, final Report report) throws IOException {
+        writeAtomically(getFile(run, report.getId(), SUFFIX), file -> MappedReportFile.write(report.getItems(), file));
+        headers.write(run, report.withoutItems());
+    }
+
+    @Override
+    public Report read(final Run<?, ?> run, final String id) throws IOException {
+        Report header = headers.read(run, id);
+        MappedReportFile file = MappedReportFile.open(getFile(run, id, SUFFIX));
+
+        return header.withItems(file.getRootItems());
+    }
+
+    @Override
+    public void delete(final Run<?, ?> run, final String id) throws IOException {
+        headers.delete(run, id);
+        Files.deleteIfExists(getFile(run, id, SUFFIX));
+    }
+}
@@ -0,0 +1,267 @@
+package io.jenkins.plugins.reporter.storage;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.XmlFile;
+import jenkins.model.Jenkins;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The persisted progress of the {@link ReportMigration}. Jobs are migrated in the order of their full names, the
+ * builds of a job from the latest to the oldest build. The progress stores the job and build to continue with, so
+ * the migration can be resumed after a restart of Jenkins. Builds that were running when they were reached are stored
+ * as well, they are checked again before the migration is completed.
+ *
+ * <p>
+ * The progress also records whether a report that is stored inline has been found, either by loading a build or by
+ * the migration. Installations without such reports have nothing to migrate.
+ * </p>
+ */
+public class MigrationProgress {
+
+    private static final Logger LOGGER = Logger.getLogger(MigrationProgress.class.getName());
+
+    private ReportStorage target;
+
+    private boolean running;
+
+    private boolean completed;
+
+    private String currentJob;
+
+    private int nextBuild;
+
+    private long checkedBuilds;
+
+    private long migratedReports;
+
+    private long failedReports;
+
+    /** The numbers of the builds that have been skipped because they were running, by the full name of their job. */
+    private TreeMap<String, TreeSet<Integer>> skippedBuilds;
+
+    private boolean inlineReportsFound;
+
+    /**
+     * Loads the progress from {@code JENKINS_HOME}.
+     *
+     * @return the persisted progress, or a new progress if the migration has not been started yet
+     */
+    static MigrationProgress load() {
+        XmlFile file = getFile();
+        if (file.exists()) {
+            try {
+                return (MigrationProgress) file.read();
+            }
+            catch (IOException | ClassCastException exception) {
+                LOGGER.log(Level.WARNING, "Can't read progress of report migration, starting again", exception);
+            }
+        }
+        return new MigrationProgress();
+    }
+
+    /**
+     * Saves the progress to {@code JENKINS_HOME}.
+     */
+    synchronized void save() {
+        try {
+            getFile().write(this);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't save progress of report migration", exception);
+        }
+    }
+
+    private static XmlFile getFile() {
+        return new XmlFile(new File(Jenkins.get().getRootDir(), MigrationProgress.class.getName() + ".xml"));
+    }
+
+    /**
+     * Starts a new migration of all builds to the given storage, or resumes the migration to that storage.
+     *
+     * @param storage
+     *         the storage to migrate the reports to
+     */
+    synchronized void start(final ReportStorage storage) {
+        if (storage != target || completed) {
+            target = storage;
+            completed = false;
+            currentJob = null;
+            nextBuild = 0;
+            checkedBuilds = 0;
+            migratedReports = 0;
+            failedReports = 0;
+            skippedBuilds = null;
+        }
+        running = true;
+        save();
+    }
+
+    synchronized void pause() {
+        running = false;
+        save();
+    }
+
+    synchronized void complete() {
+        running = false;
+        completed = true;
+        currentJob = null;
+        nextBuild = 0;
+        save();
+    }
+
+    /**
+     * Records that the migration continues with the given job.
+     *
+     * @param job
+     *         the full name of the job
+     */
+    synchronized void startJob(final String job) {
+        currentJob = job;
+        nextBuild = 0;
+    }
+
+    /**
+     * Records that a build has been checked.
+     *
+     * @param number
+     *         the number of the build
+     * @param migrated
+     *         the number of reports of the build that have been migrated
+     * @param failed
+     *         the number of reports of the build that could not be migrated
+     */
+    synchronized void checkedBuild(final int number, final int migrated, final int failed) {
+        nextBuild = number;
+        checkedBuilds++;
+        migratedReports += migrated;
+        failedReports += failed;
+    }
+
+    /**
+     * Records that a build has been skipped because it was running. The build has to be checked again.
+     *
+     * @param job
+     *         the full name of the job
+     * @param number
+     *         the number of the build
+     */
+    synchronized void skippedBuild(final String job, final int number) {
+        nextBuild = number;
+        if (skippedBuilds == null) {
+            skippedBuilds = new TreeMap<>();
+        }
+        skippedBuilds.computeIfAbsent(job, key -> new TreeSet<>()).add(number);
+    }
+
+    /**
+     * Records that a skipped build has been checked again, or that it does not exist anymore.
+     *
+     * @param job
+     *         the full name of the job
+     * @param number
+     *         the number of the build
+     * @param migrated
+     *         the number of reports of the build that have been migrated
+     * @param failed
+     *         the number of reports of the build that could not be migrated
+     */
+    synchronized void checkedSkippedBuild(final String job, final int number, final int migrated, final int failed) {
+        if (skippedBuilds != null && skippedBuilds.containsKey(job)) {
+            skippedBuilds.get(job).remove(number);
+            if (skippedBuilds.get(job).isEmpty()) {
+                skippedBuilds.remove(job);
+            }
+        }
+        checkedBuilds++;
+        migratedReports += migrated;
+        failedReports += failed;
+    }
+
+    /**
+     * Returns the builds that have been skipped because they were running.
+     *
+     * @return the numbers of the builds by the full name of their job
+     */
+    synchronized Map<String, Set<Integer>> getSkippedBuilds() {
+        Map<String, Set<Integer>> copy = new TreeMap<>();
+        if (skippedBuilds != null) {
+            skippedBuilds.forEach((job, numbers) -> copy.put(job, new TreeSet<>(numbers)));
+        }
+        return copy;
+    }
+
+    /**
+     * Records that a report that is stored inline has been found. The progress is saved the first time.
+     */
+    public synchronized void foundInlineReport() {
+        if (!inlineReportsFound) {
+            inlineReportsFound = true;
+            save();
+        }
+    }
+
+    /**
+     * Returns whether a report that is stored inline has been found, so the reports might have to be migrated.
+     *
+     * @return {@code true} if an inline report has been found, {@code false} otherwise
+     */
+    public synchronized boolean isInlineReportsFound() {
+        return inlineReportsFound;
+    }
+
+    @CheckForNull
+    public synchronized ReportStorage getTarget() {
+        return target;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns whether all builds have been migrated to the given storage.
+     *
+     * @param storage
+     *         the storage
+     *
+     * @return {@code true} if the migration to the storage is completed, {@code false} otherwise
+     */
+    public synchronized boolean isCompleted(final ReportStorage storage) {
+        return completed && target == storage;
+    }
+
+    @CheckForNull
+    public synchronized String getCurrentJob() {
+        return currentJob;
+    }
+
+    /**
+     * Returns the build number to continue with in the current job.
+     *
+     * @return the number of the last checked build, builds with lower numbers still have to be checked; 0 if no build
+     *         of the current job has been checked yet
+     */
+    public synchronized int getNextBuild() {
+        return nextBuild;
+    }
+
+    public synchronized long getCheckedBuilds() {
+        return checkedBuilds;
+    }
+
+    public synchronized long getMigratedReports() {
+        return migratedReports;
+    }
+
+    public synchronized long getFailedReports() {
+        return failedReports;
+    }
+}
@@ -0,0 +1,259 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.model.Job;
+import io.jenkins.plugins.reporter.ReportScanner;
+import io.jenkins.plugins.reporter.util.LineFiles;
+import io.jenkins.plugins.reporter.util.PathLocks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Content-addressed store of the objects of a job that are written by the {@link DeduplicatedReportStore}. Each
+ * object is stored in a file named by its hash. The store counts the references to each object: one for each object
+ * and each build that references it. An object is deleted when its last reference is removed.
+ *
+ * <p>
+ * The objects are distributed to directories by the first two characters of their hash. Each directory has a journal
+ * of the changes of the reference counts of its objects, one line per added or removed reference. Adding references
+ * only appends lines to the journals of the affected directories, so writing a report does not read or rewrite the
+ * counts of all objects of the job. The counts of a directory are only read when a reference is removed, and its 
+ * journal is compacted when it contains considerably more lines than objects.
+ * </p>
+ *
+ * <p>
+ * All modifications of the store of a job must be done while holding its {@link #getLock() lock}. Objects are
+ * immutable, so they can be read without the lock as long as they are referenced. If the count of an object is
+ * missing, e.g. because a journal has been lost, the object is kept: deleting an object that is still referenced
+ * would break reports, while keeping an unreferenced object only wastes space.
+ * </p>
+ */
+final class ObjectStore {
+
+    private static final String OBJECTS_DIRECTORY = "objects";
+    private static final String REFERENCE_JOURNAL = "references";
+
+    /** Journals with fewer lines are not compacted. */
+    private static final int MIN_COMPACTION_LINES = 1024;
+
+    private static final Logger LOGGER = Logger.getLogger(ObjectStore.class.getName());
+
+    private static final PathLocks LOCKS = new PathLocks();
+
+    private final Path directory;
+
+    /** The reference counts of the directories that have been read, by directory. */
+    private final Map<String, Map<String, Integer>> references = new HashMap<>();
+
+    /** The number of lines of the journals that have been read, by directory. */
+    private final Map<String, Integer> journalLines = new HashMap<>();
+
+    /** The lines that still have to be appended to the journals, by directory. */
+    private final Map<String, StringBuilder> changes = new HashMap<>();
+
+    private ObjectStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the object store of the given job.
+     *
+     * @param job
+     *         the job
+     *
+     * @return the object store
+     */
+    static ObjectStore of(final Job<?, ?> job) {
+        return new ObjectStore(job.getRootDir().toPath()
+                .resolve(ReportScanner.REPORTS_DIRECTORY)
+                .resolve(OBJECTS_DIRECTORY));
+    }
+
+    /**
+     * Returns the lock that guards modifications of this store.
+     *
+     * @return the lock
+     */
+    Object getLock() {
+        return LOCKS.get(directory);
+    }
+
+    boolean contains(final String hash) {
+        return Files.exists(getFile(hash));
+    }
+
+    byte[] read(final String hash) throws IOException {
+        return Files.readAllBytes(getFile(hash));
+    }
+
+    void write(final String hash, final byte[] content) throws IOException {
+        Path file = getFile(hash);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+    }
+
+    /**
+     * Adds a reference to the given object. The counts of the directory of the object are not read.
+     *
+     * @param hash
+     *         the hash of the object
+     */
+    void addReference(final String hash) {
+        String shard = getShard(hash);
+        Map<String, Integer> counts = references.get(shard);
+        if (counts != null) {
+            counts.merge(hash, 1, Integer::sum);
+        }
+        record(shard, hash, 1);
+    }
+
+    /**
+     * Removes a reference to the given object.
+     *
+     * @param hash
+     *         the hash of the object
+     *
+     * @return {@code true} if this was the last reference and the object has to be deleted, {@code false} otherwise,
+     *         also if the references of the object are unknown
+     * @throws IOException
+     *         if the reference counts cannot be read
+     */
+    boolean removeReference(final String hash) throws IOException {
+        String shard = getShard(hash);
+        Map<String, Integer> counts = getReferences(shard);
+        if (!counts.containsKey(hash)) {
+            LOGGER.log(Level.WARNING, "Keeping object {0} in ''{1}'', its references are unknown",
+                    new Object[] {hash, directory});
+            return false;
+        }
+
+        record(shard, hash, -1);
+        return counts.computeIfPresent(hash, (key, value) -> value > 1 ? value - 1 : null) == null;
+    }
+
+    void delete(final String hash) throws IOException {
+        Files.deleteIfExists(getFile(hash));
+    }
+
+    /**
+     * Appends the changed reference counts to the journals. Journals that contain considerably more lines than
+     * referenced objects are compacted.
+     *
+     * @throws IOException
+     *         if the reference counts cannot be written
+     */
+    void save() throws IOException {
+        for (String shard : new ArrayList<>(changes.keySet())) {
+            flush(shard);
+        }
+
+        for (Map.Entry<String, Map<String, Integer>> entry : references.entrySet()) {
+            String shard = entry.getKey();
+            Map<String, Integer> counts = entry.getValue();
+            int lines = journalLines.getOrDefault(shard, 0);
+            if (lines > MIN_COMPACTION_LINES && lines > 2 * counts.size()) {
+                compact(shard, counts);
+            }
+        }
+    }
+
+    private void record(final String shard, final String hash, final int delta) {
+        changes.computeIfAbsent(shard, key -> new StringBuilder())
+                .append(hash).append(' ').append(delta).append('\n');
+    }
+
+    private void flush(final String shard) throws IOException {
+        StringBuilder lines = changes.remove(shard);
+        if (lines == null) {
+            return;
+        }
+
+        Path journal = getJournal(shard);
+        Files.createDirectories(journal.getParent());
+        LineFiles.append(journal, lines.toString());
+        if (journalLines.containsKey(shard)) {
+            journalLines.merge(shard, countLines(lines), Integer::sum);
+        }
+    }
+
+    private void compact(final String shard, final Map<String, Integer> counts) throws IOException {
+        Path journal = getJournal(shard);
+        Path temp = journal.resolveSibling(REFERENCE_JOURNAL + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(' ');
+                writer.write(String.valueOf(entry.getValue()));
+                writer.newLine();
+            }
+        }
+        Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journalLines.put(shard, counts.size());
+    }
+
+    private Map<String, Integer> getReferences(final String shard) throws IOException {
+        Map<String, Integer> counts = references.get(shard);
+        if (counts != null) {
+            return counts;
+        }
+
+        // changes that have been recorded before are part of the journal afterwards
+        flush(shard);
+
+        counts = new HashMap<>();
+        int lines = 0;
+        Path journal = getJournal(shard);
+        if (Files.exists(journal)) {
+            try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    String[] fields = line.split(" ", 2);
+                    try {
+                        counts.merge(fields[0], Integer.parseInt(fields[1]), Integer::sum);
+                    }
+                    catch (NumberFormatException | IndexOutOfBoundsException exception) {
+                        // a line that has not been written completely, e.g. when the controller was stopped
+                        LOGGER.log(Level.FINE, String.format("Skipping invalid line in journal '%s'", journal),
+                                exception);
+                    }
+                    lines++;
+                }
+            }
+            counts.values().removeIf(count -> count <= 0);
+        }
+        references.put(shard, counts);
+        journalLines.put(shard, lines);
+        return counts;
+    }
+
+    private static int countLines(final CharSequence lines) {
+        int count = 0;
+        for (int i = 0; i < lines.length(); i++) {
+            if (lines.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String getShard(final String hash) {
+        return hash.substring(0, 2);
+    }
+
+    private Path getJournal(final String shard) {
+        return directory.resolve(shard).resolve(REFERENCE_JOURNAL);
+    }
+
+    private Path getFile(final String hash) {
+        return directory.resolve(getShard(hash)).resolve(hash);
+    }
+}
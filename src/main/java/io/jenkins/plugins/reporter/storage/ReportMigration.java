@@ -0,0 +1,193 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.reporter.ReportAction;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves the inline reports of existing builds to the store of the configured {@link ReportStorage}. The migration is
+ * started and paused by an administrator using the {@link ReportMigrationMonitor}. It runs in the background and
+ * checks at most {@link #BUILDS_PER_MINUTE} builds per minute, so it does not slow down the controller. Builds that are
+ * still running are skipped, they are not touched while the build itself may save them. Skipped builds are checked
+ * again after all jobs, the migration is only completed when no skipped build is left. The position of the migration
+ * is stored in the {@link MigrationProgress}, so an interrupted migration continues where it stopped.
+ */
+@Extension
+public class ReportMigration extends AsyncPeriodicWork {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportMigration.class.getName());
+
+    /** The maximum number of builds that are checked per minute. */
+    static final int BUILDS_PER_MINUTE = Math.max(1,
+            SystemProperties.getInteger(ReportMigration.class.getName() + ".buildsPerMinute", 120));
+
+    private static MigrationProgress progress;
+
+    public ReportMigration() {
+        super("Nested data report migration");
+    }
+
+    /**
+     * Returns the progress of the migration.
+     *
+     * @return the progress
+     */
+    public static synchronized MigrationProgress getProgress() {
+        if (progress == null) {
+            progress = MigrationProgress.load();
+        }
+        return progress;
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return MIN;
+    }
+
+    @Override
+    protected void execute(final TaskListener listener) throws InterruptedException {
+        MigrationProgress current = getProgress();
+        ReportStorage target = current.getTarget();
+        if (!current.isRunning() || target == null || !target.hasStore()) {
+            return;
+        }
+
+        for (Job<?, ?> job : getJobs()) {
+            String name = job.getFullName();
+            String currentJob = current.getCurrentJob();
+            if (currentJob != null && name.compareTo(currentJob) < 0) {
+                continue; // already migrated before the restart
+            }
+            if (!name.equals(currentJob)) {
+                current.startJob(name);
+            }
+
+            int nextBuild = current.getNextBuild();
+            Run<?, ?> run = nextBuild == 0 ? job.getLastBuild() : job.getNearestOldBuild(nextBuild - 1);
+            while (run != null) {
+                if (!current.isRunning()) {
+                    return;
+                }
+
+                if (run.isBuilding()) {
+                    current.skippedBuild(name, run.getNumber());
+                    current.save();
+                }
+                else {
+                    int[] counts = migrate(run, target);
+                    current.checkedBuild(run.getNumber(), counts[0], counts[1]);
+                    if (counts[0] > 0) {
+                        current.save();
+                    }
+                }
+
+                TimeUnit.MILLISECONDS.sleep(TimeUnit.MINUTES.toMillis(1) / BUILDS_PER_MINUTE);
+                run = run.getPreviousBuild();
+            }
+            current.save();
+        }
+
+        if (!checkSkippedBuilds(current, target)) {
+            current.save();
+            return; // checked again in the next run
+        }
+
+        current.complete();
+        listener.getLogger().printf("Checked %d builds, migrated %d reports, %d reports failed%n",
+                current.getCheckedBuilds(), current.getMigratedReports(), current.getFailedReports());
+    }
+
+    /**
+     * Checks the builds again that have been skipped because they were running.
+     *
+     * @return {@code true} if all skipped builds have been checked, {@code false} if some builds are still running
+     */
+    private boolean checkSkippedBuilds(final MigrationProgress current, final ReportStorage target)
+            throws InterruptedException {
+        boolean completed = true;
+        for (Map.Entry<String, Set<Integer>> entry : current.getSkippedBuilds().entrySet()) {
+            Job<?, ?> job = Jenkins.get().getItemByFullName(entry.getKey(), Job.class);
+            for (int number : entry.getValue()) {
+                if (!current.isRunning()) {
+                    return false;
+                }
+
+                Run<?, ?> run = job == null ? null : job.getBuildByNumber(number);
+                if (run == null) {
+                    current.checkedSkippedBuild(entry.getKey(), number, 0, 0); // deleted in the meantime
+                }
+                else if (run.isBuilding()) {
+                    completed = false;
+                }
+                else {
+                    int[] counts = migrate(run, target);
+                    current.checkedSkippedBuild(entry.getKey(), number, counts[0], counts[1]);
+                    TimeUnit.MILLISECONDS.sleep(TimeUnit.MINUTES.toMillis(1) / BUILDS_PER_MINUTE);
+                }
+            }
+        }
+        return completed;
+    }
+
+    private List<Job<?, ?>> getJobs() {
+        List<Job<?, ?>> jobs = new ArrayList<>();
+        for (Job<?, ?> job : Jenkins.get().allItems(Job.class)) {
+            jobs.add(job);
+        }
+        jobs.sort(Comparator.comparing(Job::getFullName));
+        return jobs;
+    }
+
+    /**
+     * Moves the inline reports of the given build to the store of the target storage.
+     *
+     * @param run
+     *         the build
+     * @param target
+     *         the storage to move the reports to
+     *
+     * @return the number of migrated and the number of failed reports
+     */
+    private int[] migrate(final Run<?, ?> run, final ReportStorage target) {
+        int migrated = 0;
+        int failed = 0;
+        for (ReportAction action : run.getActions(ReportAction.class)) {
+            try {
+                if (action.getResult().migrate(target)) {
+                    getProgress().foundInlineReport();
+                    migrated++;
+                }
+            }
+            catch (IOException exception) {
+                failed++;
+                LOGGER.log(Level.WARNING, String.format("Can't migrate report '%s' of %s",
+                        action.getId(), run), exception);
+            }
+        }
+
+        if (migrated > 0) {
+            try {
+                run.save();
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, String.format("Can't save migrated reports of %s", run), exception);
+            }
+        }
+        return new int[] {migrated, failed};
+    }
+}
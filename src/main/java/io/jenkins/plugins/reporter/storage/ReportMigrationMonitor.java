@@ -0,0 +1,65 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.Extension;
+import hudson.model.AdministrativeMonitor;
+import io.jenkins.plugins.reporter.Messages;
+import io.jenkins.plugins.reporter.ReportingConfiguration;
+import jenkins.model.Jenkins;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.verb.POST;
+
+/**
+ * Shows the state of the {@link ReportMigration} to administrators as long as the reports of existing builds have not
+ * been migrated to the configured {@link ReportStorage}. The monitor is only shown once a report that is stored inline
+ * has been found, so new installations are not asked to migrate. Administrators can start and pause the migration.
+ */
+@Extension
+public class ReportMigrationMonitor extends AdministrativeMonitor {
+
+    @Override
+    public boolean isActivated() {
+        ReportStorage storage = ReportingConfiguration.get().getStorage();
+        MigrationProgress progress = getProgress();
+        return storage.hasStore() && progress.isInlineReportsFound() && !progress.isCompleted(storage);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.Migration_DisplayName();
+    }
+
+    public MigrationProgress getProgress() {
+        return ReportMigration.getProgress();
+    }
+
+    public ReportStorage getStorage() {
+        return ReportingConfiguration.get().getStorage();
+    }
+
+    /**
+     * Starts or resumes the migration to the configured storage. The migration begins within a minute.
+     *
+     * @return redirect to the previous page
+     */
+    @POST
+    public HttpResponse doStart() {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+        getProgress().start(getStorage());
+        return HttpResponses.forwardToPreviousPage();
+    }
+
+    /**
+     * Pauses the migration after the current build.
+     *
+     * @return redirect to the previous page
+     */
+    @POST
+    public HttpResponse doPause() {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+        getProgress().pause();
+        return HttpResponses.forwardToPreviousPage();
+    }
+}
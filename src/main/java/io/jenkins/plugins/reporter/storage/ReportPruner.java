@@ -0,0 +1,168 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.reporter.ReportAction;
+import io.jenkins.plugins.reporter.ReportScanner;
+import io.jenkins.plugins.reporter.ReportViewCache;
+import io.jenkins.plugins.reporter.model.HistoryCache;
+import jenkins.model.Jenkins;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Prunes the reports of builds that are out of the {@link DetailRetention} of their job to their summary. The summary
+ * still contains the values that are shown in the trend charts of the job, but the items and messages of the report
+ * are removed.
+ *
+ * <p>
+ * Jobs without a reports directory never published a report and are skipped. The builds of the other jobs are checked
+ * from the latest to the oldest build. Since the retention keeps the latest builds, all builds that are out of the
+ * retention and have been checked once stay pruned. So the number of the latest build up to which all builds are
+ * pruned is stored in the reports directory of the job, and the next check stops at this build. Builds without
+ * reports and builds that are kept forever count as pruned, running builds and builds that could not be pruned are
+ * checked again.
+ * </p>
+ */
+@Extension
+public class ReportPruner extends AsyncPeriodicWork {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportPruner.class.getName());
+
+    /** The file in the reports directory of a job that stores the number of the latest completely pruned build. */
+    public static final String PRUNED_FILE = "pruned";
+
+    public ReportPruner() {
+        super("Nested data report pruner");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return HOUR;
+    }
+
+    @Override
+    protected void execute(final TaskListener listener) {
+        int pruned = 0;
+        for (Job<?, ?> job : Jenkins.get().allItems(Job.class)) {
+            DetailRetention retention = DetailRetention.of(job);
+            if (!retention.isUnlimited()) {
+                pruned += prune(job, retention);
+            }
+        }
+        listener.getLogger().printf("Pruned %d reports%n", pruned);
+    }
+
+    private int prune(final Job<?, ?> job, final DetailRetention retention) {
+        Path directory = job.getRootDir().toPath().resolve(ReportScanner.REPORTS_DIRECTORY);
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        Path marker = directory.resolve(PRUNED_FILE);
+        int prunedUpTo = readPrunedUpTo(marker);
+
+        long now = System.currentTimeMillis();
+        int pruned = 0;
+        int position = 0;
+        int completedUpTo = -1;
+        for (Run<?, ?> run = job.getLastBuild(); run != null && run.getNumber() > prunedUpTo;
+                run = run.getPreviousBuild()) {
+            if (retention.keepsDetails(position++, run.getTimeInMillis(), now)) {
+                continue;
+            }
+            if (completedUpTo < 0) {
+                completedUpTo = run.getNumber(); // the latest build out of the retention
+            }
+            if (run.isBuilding()) {
+                completedUpTo = run.getNumber() - 1;
+                continue;
+            }
+
+            List<ReportAction> actions = run.getActions(ReportAction.class);
+            if (actions.isEmpty() || run.isKeepLog()) {
+                continue;
+            }
+
+            int[] counts = prune(run, actions);
+            pruned += counts[0];
+            if (counts[1] > 0) {
+                completedUpTo = run.getNumber() - 1;
+            }
+        }
+
+        if (completedUpTo > prunedUpTo) {
+            writePrunedUpTo(marker, completedUpTo);
+        }
+        return pruned;
+    }
+
+    private static int readPrunedUpTo(final Path marker) {
+        if (!Files.exists(marker)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).trim());
+        }
+        catch (IOException | NumberFormatException exception) {
+            LOGGER.log(Level.FINE, String.format("Can't read pruned builds from '%s'", marker), exception);
+            return 0;
+        }
+    }
+
+    private static void writePrunedUpTo(final Path marker, final int number) {
+        try {
+            Path temp = marker.resolveSibling(marker.getFileName() + ".tmp");
+            Files.write(temp, (number + "\n").getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, marker, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, String.format("Can't save pruned builds to '%s'", marker), exception);
+        }
+    }
+
+    /**
+     * Prunes the reports of the given build.
+     *
+     * @return the number of pruned reports and the number of reports that could not be pruned
+     */
+    private int[] prune(final Run<?, ?> run, final List<ReportAction> actions) {
+        int pruned = 0;
+        int failed = 0;
+        for (ReportAction action : actions) {
+            try {
+                if (action.getResult().prune()) {
+                    HistoryCache.get().modified(run.getParent(), action.getId());
+                    ReportViewCache.get().remove(run, action.getId());
+                    pruned++;
+                }
+            }
+            catch (IOException exception) {
+                failed++;
+                LOGGER.log(Level.WARNING, String.format("Can't prune report '%s' of %s",
+                        action.getId(), run), exception);
+            }
+        }
+
+        if (pruned > 0) {
+            try {
+                run.save();
+            }
+            catch (IOException exception) {
+                failed++;
+                LOGGER.log(Level.WARNING, String.format("Can't save pruned reports of %s", run), exception);
+            }
+        }
+        return new int[] {pruned, failed};
+    }
+}
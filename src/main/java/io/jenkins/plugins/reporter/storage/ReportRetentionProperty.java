@@ -0,0 +1,73 @@
+package io.jenkins.plugins.reporter.storage;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.JobProperty;
+import hudson.model.JobPropertyDescriptor;
+import io.jenkins.plugins.reporter.Messages;
+import net.sf.json.JSONObject;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.StaplerRequest2;
+
+/**
+ * Overrides the global {@link DetailRetention} of published reports for a single job.
+ */
+public class ReportRetentionProperty extends JobProperty<Job<?, ?>> {
+
+    private final int detailBuilds;
+
+    private final int detailDays;
+
+    /**
+     * Creates a new instance of {@link ReportRetentionProperty}.
+     *
+     * @param detailBuilds
+     *         the number of latest builds whose details are kept, 0 to ignore the number of builds
+     * @param detailDays
+     *         the number of days the details of a build are kept, 0 to ignore the age of builds
+     */
+    @DataBoundConstructor
+    public ReportRetentionProperty(final int detailBuilds, final int detailDays) {
+        super();
+
+        this.detailBuilds = detailBuilds;
+        this.detailDays = detailDays;
+    }
+
+    public int getDetailBuilds() {
+        return detailBuilds;
+    }
+
+    public int getDetailDays() {
+        return detailDays;
+    }
+
+    public DetailRetention getDetailRetention() {
+        return new DetailRetention(detailBuilds, detailDays);
+    }
+
+    /**
+     * Descriptor for {@link ReportRetentionProperty}.
+     */
+    @Extension
+    @Symbol("nestedDataReportRetention")
+    public static class Descriptor extends JobPropertyDescriptor {
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.Retention_DisplayName();
+        }
+
+        @Override
+        public JobProperty<?> newInstance(final StaplerRequest2 req, final JSONObject formData)
+                throws FormException {
+            if (formData.optBoolean("specified")) {
+                return super.newInstance(req, formData);
+            }
+            return null;
+        }
+    }
+}
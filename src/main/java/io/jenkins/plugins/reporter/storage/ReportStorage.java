@@ -0,0 +1,85 @@
+package io.jenkins.plugins.reporter.storage;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import io.jenkins.plugins.reporter.Messages;
+
+/**
+ * Defines where a published report is stored.
+ */
+public enum ReportStorage {
+
+    /** The complete report is stored in the {@code build.xml} of the run. */
+    INLINE(null),
+    /** The report is stored in an XML file in the build directory. */
+    EXTERNAL(new XmlReportStore()),
+    /** The items are stored in a memory-mapped binary file in the build directory. */
+    MAPPED(new MappedReportStore()),
+    /** The items are stored in a content-addressed store of the job, unchanged subtrees are shared by builds. */
+    DEDUPLICATED(new DeduplicatedReportStore()),
+    /** The details of the report have been pruned by the {@link ReportPruner}, only the summary is available. */
+    PRUNED(null);
+
+    private final ReportStore store;
+
+    ReportStorage(@CheckForNull final ReportStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns whether the items are stored with the report in the {@code build.xml} of the run.
+     *
+     * @return {@code true} if the report is stored inline, {@code false} otherwise
+     */
+    public boolean isInline() {
+        return this == INLINE;
+    }
+
+    /**
+     * Returns whether the report is stored in a {@link ReportStore}.
+     *
+     * @return {@code true} if a {@link ReportStore} is used, {@code false} otherwise
+     */
+    public boolean hasStore() {
+        return store != null;
+    }
+
+    /**
+     * Returns whether newly published reports can be stored with this storage.
+     *
+     * @return {@code true} if the storage can be configured, {@code false} otherwise
+     */
+    public boolean isSelectable() {
+        return this != PRUNED;
+    }
+
+    /**
+     * Returns the store for the items of the report.
+     *
+     * @return the store
+     * @throws IllegalStateException
+     *         if the report is stored inline or has been pruned
+     */
+    public ReportStore getStore() {
+        if (store == null) {
+            throw new IllegalStateException(String.format("Storage %s has no report store.", name()));
+        }
+
+        return store;
+    }
+
+    public String getDisplayName() {
+        switch (this) {
+            case EXTERNAL:
+                return Messages.Storage_External();
+            case MAPPED:
+                return Messages.Storage_Mapped();
+            case DEDUPLICATED:
+                return Messages.Storage_Deduplicated();
+            case PRUNED:
+                return Messages.Storage_Pruned();
+            case INLINE:
+            default:
+                return Messages.Storage_Inline();
+        }
+    }
+}
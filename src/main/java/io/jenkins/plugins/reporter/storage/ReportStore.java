@@ -0,0 +1,53 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.model.Report;
+
+import java.io.IOException;
+
+/**
+ * Persists published reports outside the {@code build.xml} of a run. Only a small summary of the report is stored
+ * with the actions of the run, the store provides the complete report when it is shown.
+ */
+public interface ReportStore {
+
+    /**
+     * Writes the given frozen report.
+     *
+     * @param run
+     *         the run that published the report
+     * @param report
+     *         the report to write
+     *
+     * @throws IOException
+     *         if the report could not be written
+     */
+    void write(Run<?, ?> run, Report report) throws IOException;
+
+    /**
+     * Reads a report.
+     *
+     * @param run
+     *         the run that published the report
+     * @param id
+     *         the ID of the report
+     *
+     * @return the frozen report with all items
+     * @throws IOException
+     *         if the report could not be read
+     */
+    Report read(Run<?, ?> run, String id) throws IOException;
+
+    /**
+     * Deletes a stored report.
+     *
+     * @param run
+     *         the run that published the report
+     * @param id
+     *         the ID of the report
+     *
+     * @throws IOException
+     *         if the report could not be deleted
+     */
+    void delete(Run<?, ?> run, String id) throws IOException;
+}
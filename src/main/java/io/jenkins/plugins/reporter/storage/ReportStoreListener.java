@@ -0,0 +1,39 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import io.jenkins.plugins.reporter.ReportAction;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deletes the stored reports of deleted builds. Files in the build folder are deleted with the build anyway, but
+ * stores that share data between builds (e.g. the {@link DeduplicatedReportStore}) have to release the references of
+ * the build.
+ */
+@Extension
+public class ReportStoreListener extends RunListener<Run<?, ?>> {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportStoreListener.class.getName());
+
+    @Override
+    public void onDeleted(final Run<?, ?> run) {
+        for (ReportAction action : run.getActions(ReportAction.class)) {
+            ReportStorage storage = action.getResult().getStorage();
+            if (!storage.hasStore()) {
+                continue;
+            }
+
+            try {
+                storage.getStore().delete(run, action.getId());
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, String.format("Can't delete stored report '%s' of %s",
+                        action.getId(), run), exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package io.jenkins.plugins.reporter.storage;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import io.jenkins.plugins.reporter.model.Item;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Binary encoding of the items that are stored by the {@link DeduplicatedReportStore}. Each item with sub items is
+ * stored as an object that is identified by the SHA-256 hash of its content. Its sub items are encoded as entries:
+ * items without sub items are embedded into the entry, items with sub items are referenced by the hash of their
+ * object. So the hash of an object covers the whole subtree (like in a Merkle tree), and equal subtrees of different
+ * builds are stored only once.
+ */
+final class SubtreeCodec {
+
+    private static final int VERSION = 1;
+
+    private static final byte EMBEDDED = 0;
+    private static final byte REFERENCE = 1;
+
+    private static final int NULL_STRING = -1;
+
+    private SubtreeCodec() {
+        // prevents instantiation
+    }
+
+    /**
+     * A sub item of an object or a root item of a build: either an embedded item without sub items or a reference
+     * to an object.
+     */
+    static final class Entry {
+        private final Node node;
+        private final String hash;
+
+        private Entry(@CheckForNull final Node node, @CheckForNull final String hash) {
+            this.node = node;
+            this.hash = hash;
+        }
+
+        boolean isReference() {
+            return hash != null;
+        }
+
+        /**
+         * Returns the embedded item.
+         *
+         * @return the item
+         */
+        Node getNode() {
+            return node;
+        }
+
+        /**
+         * Returns the hash of the referenced object.
+         *
+         * @return the hash
+         */
+        String getHash() {
+            return hash;
+        }
+    }
+
+    /**
+     * The decoded content of an object or an embedded item.
+     */
+    static final class Node {
+        private final String id;
+        private final String name;
+        private final LinkedHashMap<String, Integer> result;
+        private final List<Entry> entries;
+
+        Node(final String id, final String name, final LinkedHashMap<String, Integer> result,
+                final List<Entry> entries) {
+            this.id = id;
+            this.name = name;
+            this.result = result;
+            this.entries = entries;
+        }
+
+        List<Entry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * Creates an item with the values of this node, but without sub items.
+         *
+         * @return the item
+         */
+        Item createItem() {
+            Item item = new Item();
+            item.setId(id);
+            item.setName(name);
+            item.setResult(result);
+            return item;
+        }
+    }
+
+    /**
+     * Encodes an item with sub items as object.
+     *
+     * @param item
+     *         the item to encode
+     * @param hashes
+     *         returns the hashes of the objects of the sub items that have sub items themselves
+     *
+     * @return the content of the object
+     */
+    static byte[] encodeObject(final Item item, final Function<Item, String> hashes) {
+        return encode(output -> {
+            output.writeInt(VERSION);
+            writeNode(output, item);
+            writeEntries(output, item.getItems(), hashes);
+        });
+    }
+
+    /**
+     * Encodes the root items of a report.
+     *
+     * @param items
+     *         the root items
+     * @param hashes
+     *         returns the hashes of the objects of the items that have sub items
+     *
+     * @return the encoded root items
+     */
+    static byte[] encodeRoots(final List<Item> items, final Function<Item, String> hashes) {
+        return encode(output -> {
+            output.writeInt(VERSION);
+            writeEntries(output, items, hashes);
+        });
+    }
+
+    /**
+     * Decodes an object.
+     *
+     * @param content
+     *         the content of the object
+     *
+     * @return the decoded object
+     * @throws IOException
+     *         if the content is invalid
+     */
+    static Node decodeObject(final byte[] content) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(content));
+        checkVersion(input);
+        Node node = readNode(input);
+        return new Node(node.id, node.name, node.result, readEntries(input));
+    }
+
+    /**
+     * Decodes the root items of a report.
+     *
+     * @param content
+     *         the encoded root items
+     *
+     * @return the entries of the root items
+     * @throws IOException
+     *         if the content is invalid
+     */
+    static List<Entry> decodeRoots(final byte[] content) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(content));
+        checkVersion(input);
+        return readEntries(input);
+    }
+
+    /**
+     * Returns the hash of the given object content.
+     *
+     * @param content
+     *         the content
+     *
+     * @return the SHA-256 hash as hex string
+     */
+    static String hash(final byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not supported", exception);
+        }
+    }
+
+    /**
+     * Returns the hashes of the objects that are referenced by the given entries.
+     *
+     * @param entries
+     *         the entries
+     *
+     * @return the hashes
+     */
+    static List<String> getReferences(final List<Entry> entries) {
+        List<String> references = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.isReference()) {
+                references.add(entry.getHash());
+            }
+        }
+        return references;
+    }
+
+    private static void checkVersion(final DataInputStream input) throws IOException {
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported version %d of stored items", version));
+        }
+    }
+
+    private static void writeEntries(final DataOutputStream output, @CheckForNull final List<Item> items,
+            final Function<Item, String> hashes) throws IOException {
+        List<Item> entries = items == null ? Collections.emptyList() : items;
+        output.writeInt(entries.size());
+        for (Item item : entries) {
+            if (item.hasItems()) {
+                output.writeByte(REFERENCE);
+                output.write(HexFormat.of().parseHex(hashes.apply(item)));
+            }
+            else {
+                output.writeByte(EMBEDDED);
+                writeNode(output, item);
+            }
+        }
+    }
+
+    private static List<Entry> readEntries(final DataInputStream input) throws IOException {
+        int size = input.readInt();
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byte kind = input.readByte();
+            if (kind == REFERENCE) {
+                byte[] hash = new byte[32];
+                input.readFully(hash);
+                entries.add(new Entry(null, HexFormat.of().formatHex(hash)));
+            }
+            else if (kind == EMBEDDED) {
+                entries.add(new Entry(readNode(input), null));
+            }
+            else {
+                throw new IOException(String.format("Invalid entry type %d", kind));
+            }
+        }
+        return entries;
+    }
+
+    private static void writeNode(final DataOutputStream output, final Item item) throws IOException {
+        writeString(output, item.getId());
+        writeString(output, item.getName());
+
+        Map<String, Integer> result = item.getResult();
+        output.writeInt(result.size());
+        for (Map.Entry<String, Integer> entry : result.entrySet()) {
+            writeString(output, entry.getKey());
+            output.writeInt(entry.getValue());
+        }
+    }
+
+    private static Node readNode(final DataInputStream input) throws IOException {
+        String id = readString(input);
+        String name = readString(input);
+
+        int size = input.readInt();
+        LinkedHashMap<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            result.put(readString(input), input.readInt());
+        }
+
+        return new Node(id, name, result, Collections.emptyList());
+    }
+
+    private static void writeString(final DataOutputStream output, @CheckForNull final String value)
+            throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_STRING);
+        }
+        else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    @CheckForNull
+    private static String readString(final DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(final Encoder encoder) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            encoder.encode(output);
+            output.flush();
+            return bytes.toByteArray();
+        }
+        catch (IOException exception) {
+            throw new IllegalStateException("Can't encode items in memory", exception);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(DataOutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,80 @@
+package io.jenkins.plugins.reporter.storage;
+
+import hudson.model.Run;
+import hudson.util.XStream2;
+import io.jenkins.plugins.reporter.ReportingConfiguration;
+import io.jenkins.plugins.reporter.model.Report;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores a report as XML file in the build directory, optionally compressed with GZIP. The file contains the same
+ * XML as the report in the {@code build.xml} of an inline report, but it is only read when the report is shown.
+ */
+public class XmlReportStore extends AbstractReportStore {
+
+    private static final String SUFFIX = ".xml";
+    private static final String COMPRESSED_SUFFIX = ".xml.gz";
+
+    private static final XStream2 XSTREAM = new XStream2();
+
+    @Override
+    public void write(final Run<?, ?> run, final Report report) throws IOException {
+        boolean compress = ReportingConfiguration.get().isCompressReports();
+
+        Path file = getFile(run, report.getId(), compress ? COMPRESSED_SUFFIX : SUFFIX);
+        writeAtomically(file, temp -> {
+            try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp));
+                    Writer writer = new OutputStreamWriter(compress ? new GZIPOutputStream(stream) : stream,
+                            StandardCharsets.UTF_8)) {
+                XSTREAM.toXML(report, writer);
+            }
+        });
+        Files.deleteIfExists(getFile(run, report.getId(), compress ? SUFFIX : COMPRESSED_SUFFIX));
+    }
+
+    @Override
+    public Report read(final Run<?, ?> run, final String id) throws IOException {
+        Path compressed = getFile(run, id, COMPRESSED_SUFFIX);
+        Path file = Files.exists(compressed) ? compressed : getFile(run, id, SUFFIX);
+        if (!Files.exists(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file));
+                Reader reader = new InputStreamReader(file == compressed ? new GZIPInputStream(stream) : stream,
+                        StandardCharsets.UTF_8)) {
+            Object content = XSTREAM.fromXML(reader);
+            if (!(content instanceof Report)) {
+                throw new IOException(String.format("File '%s' does not contain a report", file));
+            }
+
+            Report report = (Report) content;
+            report.freeze();
+            return report;
+        }
+        catch (RuntimeException exception) {
+            throw new IOException(String.format("Can't read report from file '%s'", file), exception);
+        }
+    }
+
+    @Override
+    public void delete(final Run<?, ?> run, final String id) throws IOException {
+        Files.deleteIfExists(getFile(run, id, COMPRESSED_SUFFIX));
+        Files.deleteIfExists(getFile(run, id, SUFFIX));
+    }
+}
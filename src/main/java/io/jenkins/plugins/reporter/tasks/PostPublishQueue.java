@@ -0,0 +1,301 @@
+package io.jenkins.plugins.reporter.tasks;
+
+import hudson.XmlFile;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Run;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import jenkins.util.Timer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executes the {@link PostPublishTask post-publish tasks} of published reports in the background, so that publishing
+ * a report does not extend the build. Each pending task is persisted in a file of its own in {@code JENKINS_HOME}, 
+ * which is deleted when the task is completed, and executed again after a restart. A failed task is retried up to 
+ * {@link #MAX_ATTEMPTS} times, with a delay that doubles after each attempt.
+ *
+ * <p>
+ * The executor uses at most {@link #THREADS} threads and holds at most {@link #CAPACITY} tasks in memory. If the
+ * queue is full, the publishing thread executes its tasks itself, so a slow disk slows down publishing instead of
+ * filling up the memory. Tasks that are resumed after a restart or retried are kept in a backlog instead, that is 
+ * passed to the executor whenever its queue has room.
+ * </p>
+ */
+public final class PostPublishQueue {
+
+    private static final Logger LOGGER = Logger.getLogger(PostPublishQueue.class.getName());
+
+    /** The number of threads that execute tasks. */
+    static final int THREADS = Math.max(1,
+            SystemProperties.getInteger(PostPublishQueue.class.getName() + ".threads", 1));
+
+    /** The maximum number of tasks that wait for execution. */
+    static final int CAPACITY = Math.max(1,
+            SystemProperties.getInteger(PostPublishQueue.class.getName() + ".capacity", 1000));
+
+    /** The number of times a failing task is executed. */
+    static final int MAX_ATTEMPTS = 3;
+
+    /** The delay before a failed task is executed again the first time, doubled for each further attempt. */
+    static final long RETRY_DELAY_SECONDS = Math.max(1,
+            SystemProperties.getLong(PostPublishQueue.class.getName() + ".retryDelay", 30L));
+
+    private static final String SUFFIX = ".xml";
+
+    private static final PostPublishQueue INSTANCE = new PostPublishQueue();
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 1, TimeUnit.MINUTES,
+            new ArrayBlockingQueue<>(CAPACITY),
+            new NamingThreadFactory(new DaemonThreadFactory(), PostPublishQueue.class.getSimpleName()),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    private final Set<Pending> pending = ConcurrentHashMap.newKeySet();
+
+    /** Tasks that wait for room in the queue of the executor. */
+    private final Deque<Pending> backlog = new ArrayDeque<>();
+
+    private long executedTasks;
+
+    private long failedTasks;
+
+    private long totalLatency;
+
+    private long maxLatency;
+
+    private PostPublishQueue() {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the queue of this plugin.
+     *
+     * @return the queue
+     */
+    public static PostPublishQueue get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Executes the tasks that were pending when the controller has been stopped.
+     */
+    @Initializer(after = InitMilestone.JOB_CONFIG_ADAPTED)
+    public static void resume() {
+        get().resumePendingTasks();
+    }
+
+    /**
+     * Enqueues all post-publish tasks of a report that has been attached to its build.
+     *
+     * @param run
+     *         the build that published the report
+     * @param reportId
+     *         the ID of the report
+     */
+    public void enqueue(final Run<?, ?> run, final String reportId) {
+        for (PostPublishTask.Type type : PostPublishTask.Type.values()) {
+            Pending task = new Pending(new PostPublishTask(type, run, reportId), 
+                    getFile(String.format("%013d-%s%s", System.currentTimeMillis(), UUID.randomUUID(), SUFFIX)));
+            save(task);
+            pending.add(task);
+            try {
+                executor.execute(() -> execute(task));
+            }
+            catch (RejectedExecutionException exception) {
+                execute(task); // the queue is full, the publishing thread executes the task itself
+            }
+        }
+    }
+
+    private void execute(final Pending task) {
+        try {
+            task.task.execute();
+            completed(task, true);
+        }
+        catch (IOException | RuntimeException exception) {
+            if (task.task.getAttempts() < MAX_ATTEMPTS) {
+                long delay = RETRY_DELAY_SECONDS << (task.task.getAttempts() - 1);
+                LOGGER.log(Level.FINE, String.format("Task %s failed, retrying in %d s", task.task, delay), 
+                        exception);
+                Timer.get().schedule(() -> addToBacklog(Collections.singletonList(task)), delay, TimeUnit.SECONDS);
+            }
+            else {
+                LOGGER.log(Level.WARNING, String.format("Task %s failed %d times, giving up", task.task,
+                        task.task.getAttempts()), exception);
+                completed(task, false);
+            }
+        }
+        finally {
+            submitBacklog();
+        }
+    }
+
+    private void completed(final Pending task, final boolean successful) {
+        pending.remove(task);
+        delete(task);
+
+        synchronized (this) {
+            if (successful) {
+                long latency = System.currentTimeMillis() - task.task.getEnqueued();
+                executedTasks++;
+                totalLatency += latency;
+                maxLatency = Math.max(maxLatency, latency);
+            }
+            else {
+                failedTasks++;
+            }
+        }
+    }
+
+    private void addToBacklog(final List<Pending> tasks) {
+        synchronized (backlog) {
+            backlog.addAll(tasks);
+        }
+        submitBacklog();
+    }
+
+    /**
+     * Passes tasks of the backlog to the executor as long as its queue has room. The calling thread never executes 
+     * a task of the backlog itself.
+     */
+    private void submitBacklog() {
+        synchronized (backlog) {
+            while (!backlog.isEmpty()) {
+                Pending task = backlog.peek();
+                try {
+                    executor.execute(() -> execute(task));
+                }
+                catch (RejectedExecutionException exception) {
+                    return; // submitted again when a task is completed
+                }
+                backlog.remove();
+            }
+        }
+    }
+
+    private void resumePendingTasks() {
+        File directory = getFile("");
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files == null || files.length == 0) {
+            return;
+        }
+
+        Arrays.sort(files); // in the order of their creation
+        List<Pending> tasks = new ArrayList<>();
+        for (File file : files) {
+            try {
+                tasks.add(new Pending((PostPublishTask) new XmlFile(file).read(), file));
+            }
+            catch (IOException | ClassCastException exception) {
+                LOGGER.log(Level.WARNING, String.format("Can't read pending post-publish task '%s'", file), 
+                        exception);
+            }
+        }
+
+        LOGGER.log(Level.INFO, "Resuming {0} pending post-publish tasks", tasks.size());
+        pending.addAll(tasks);
+        addToBacklog(tasks);
+    }
+
+    private static void save(final Pending task) {
+        try {
+            new XmlFile(task.file).write(task.task);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, String.format("Can't save pending post-publish task %s", task.task), 
+                    exception);
+        }
+    }
+
+    private static void delete(final Pending task) {
+        try {
+            Files.deleteIfExists(task.file.toPath());
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, String.format("Can't delete completed post-publish task %s", task.task),
+                    exception);
+        }
+    }
+
+    private static File getFile(final String name) {
+        return new File(new File(Jenkins.get().getRootDir(), PostPublishQueue.class.getName()), name);
+    }
+
+    /**
+     * Returns the number of tasks that wait for execution, wait for a retry, or are executed right now.
+     *
+     * @return the number of pending tasks
+     */
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the number of successfully executed tasks since the start of the controller.
+     *
+     * @return the number of executed tasks
+     */
+    public synchronized long getExecutedTasks() {
+        return executedTasks;
+    }
+
+    /**
+     * Returns the number of tasks that have been given up since the start of the controller.
+     *
+     * @return the number of failed tasks
+     */
+    public synchronized long getFailedTasks() {
+        return failedTasks;
+    }
+
+    /**
+     * Returns the average time between enqueuing and completing a task.
+     *
+     * @return the average latency in milliseconds
+     */
+    public synchronized long getAverageLatency() {
+        return executedTasks == 0 ? 0 : totalLatency / executedTasks;
+    }
+
+    /**
+     * Returns the maximum time between enqueuing and completing a task.
+     *
+     * @return the maximum latency in milliseconds
+     */
+    public synchronized long getMaxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * A pending task and the file it is persisted in.
+     */
+    private static final class Pending {
+        private final PostPublishTask task;
+        private final File file;
+
+        Pending(final PostPublishTask task, final File file) {
+            this.task = task;
+            this.file = file;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.jenkins.plugins.reporter.tasks;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.model.Job;
+import hudson.model.Run;
+import io.jenkins.plugins.reporter.ReportAction;
+import io.jenkins.plugins.reporter.ReportResult;
+import io.jenkins.plugins.reporter.index.ItemSeriesIndex;
+import io.jenkins.plugins.reporter.index.TrendIndex;
+import io.jenkins.plugins.reporter.model.HistoryCache;
+import jenkins.model.Jenkins;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A task that updates derived data of a published report, e.g. an index, after the report has been attached to its
+ * build. The task references the build by the name of the job and the build number, so it can be persisted and
+ * executed again after a restart.
+ */
+public final class PostPublishTask implements Serializable {
+
+    private static final long serialVersionUID = 2941718305271264011L;
+
+    /**
+     * The derived data that is updated by a task.
+     */
+    public enum Type {
+        /** Appends the summary of the report to the {@link TrendIndex}. */
+        TREND_INDEX,
+        /** Appends the series of all items of the report to the {@link ItemSeriesIndex}. */
+        ITEM_SERIES_INDEX
+    }
+
+    private final Type type;
+
+    private final String job;
+
+    private final int build;
+
+    private final String reportId;
+
+    private final long enqueued;
+
+    private int attempts;
+
+    /**
+     * Creates a new instance of {@link PostPublishTask}.
+     *
+     * @param type
+     *         the derived data to update
+     * @param run
+     *         the build that published the report
+     * @param reportId
+     *         the ID of the report
+     */
+    PostPublishTask(final Type type, final Run<?, ?> run, final String reportId) {
+        this.type = type;
+        this.job = run.getParent().getFullName();
+        this.build = run.getNumber();
+        this.reportId = reportId;
+        this.enqueued = System.currentTimeMillis();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getJob() {
+        return job;
+    }
+
+    public int getBuild() {
+        return build;
+    }
+
+    public String getReportId() {
+        return reportId;
+    }
+
+    /**
+     * Returns the time this task has been enqueued.
+     *
+     * @return the time in milliseconds
+     */
+    public long getEnqueued() {
+        return enqueued;
+    }
+
+    int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Executes this task. Tasks of deleted builds or reports are ignored.
+     *
+     * @throws IOException
+     *         if the derived data cannot be written
+     */
+    void execute() throws IOException {
+        attempts++;
+
+        ReportAction action = findAction();
+        if (action == null) {
+            return;
+        }
+
+        Run<?, ?> run = action.getOwner();
+        ReportResult result = action.getResult();
+        switch (type) {
+            case TREND_INDEX:
+                TrendIndex.of(run.getParent(), reportId).append(run, result.getSummary());
+                break;
+            case ITEM_SERIES_INDEX:
+                ItemSeriesIndex.of(run.getParent(), reportId).append(run, result.getReport());
+                break;
+            default:
+                throw new IllegalStateException("Unknown task type " + type);
+        }
+        HistoryCache.get().modified(run.getParent(), reportId);
+    }
+
+    @CheckForNull
+    private ReportAction findAction() {
+        Job<?, ?> owner = Jenkins.get().getItemByFullName(job, Job.class);
+        if (owner == null) {
+            return null;
+        }
+
+        Run<?, ?> run = owner.getBuildByNumber(build);
+        if (run == null) {
+            return null;
+        }
+
+        return run.getActions(ReportAction.class).stream()
+                .filter(action -> Objects.equals(action.getId(), reportId))
+                .reduce((first, second) -> second) // the latest report with the ID
+                .orElse(null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s of report '%s' in %s #%d", type, reportId, job, build);
+    }
+}
@@ -0,0 +1,52 @@
+package io.jenkins.plugins.reporter.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends lines to the append-only files of the indexes and stores, so that a file stays readable line by line even
+ * if the controller has been stopped while a line was written.
+ */
+public final class LineFiles {
+
+    private LineFiles() {
+        // prevents instantiation
+    }
+
+    /**
+     * Appends the given lines to a file. If the last line of the file has not been terminated, e.g. because the
+     * controller was stopped while it was written, the line is terminated first. So the incomplete line is skipped
+     * when the file is read, but the appended lines are still valid.
+     *
+     * @param file
+     *         the file, created if it does not exist
+     * @param lines
+     *         the lines to append, each terminated by a line feed
+     *
+     * @throws IOException
+     *         if the file cannot be written
+     */
+    public static void append(final Path file, final String lines) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            String content = lines;
+            if (size > 0) {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.read(last, size - 1);
+                if (last.get(0) != '\n') {
+                    content = '\n' + lines;
+                }
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                size += channel.write(buffer, size);
+            }
+        }
+    }
+}
@@ -2,16 +2,24 @@ package io.jenkins.plugins.reporter.util;
 
 import com.google.errorprone.annotations.FormatMethod;
 import hudson.model.TaskListener;
+import io.jenkins.plugins.reporter.model.Diagnostics;
+import io.jenkins.plugins.reporter.model.Diagnostics.Severity;
 import io.jenkins.plugins.reporter.model.Report;
 import io.jenkins.plugins.util.PluginLogger;
 
 import java.util.List;
+import java.util.Map;
 
 public class LogHandler {
+    /** Maximum number of lines that are printed for each severity by a single call of {@link #log(Report)}. */
+    static final int MAX_LINES = 50;
+    
+    private static final int MAX_CATEGORIES = 10;
+    
     private final PluginLogger errorLogger;
     private final PluginLogger logger;
-    private int infoPosition = 0;
-    private int errorPosition = 0;
+    private long infoPosition = 0;
+    private long errorPosition = 0;
 
     /**
      * Creates a new {@link LogHandler}.
@@ -36,11 +44,12 @@ public class LogHandler {
      *         the report to log the messages from
      */
     public LogHandler(final TaskListener listener, final String name, final Report report) {
-        this(listener, name, report.getInfoMessages().size(), report.getErrorMessages().size());
+        this(listener, name, report.getDiagnostics().getCount(Severity.INFO), 
+                report.getDiagnostics().getCount(Severity.ERROR));
     }
 
-    private LogHandler(final TaskListener listener, final String name, final int infoPosition,
-                       final int errorPosition) {
+    private LogHandler(final TaskListener listener, final String name, final long infoPosition,
+                       final long errorPosition) {
         logger = createLogger(listener, name);
         errorLogger = createErrorLogger(listener, name);
         this.infoPosition = infoPosition;
@@ -57,7 +66,8 @@ public class LogHandler {
 
     /**
      * Log all info and error messages that are stored in the set of issues. Note that subsequent calls to this method
-     * will only log messages that have not yet been logged.
+     * will only log messages that have not yet been logged. The output is throttled: at most {@link #MAX_LINES} 
+     * messages are printed for each severity, all other messages are summarized by their category.
      *
      * @param report
      *         the issues with the collected logging messages
@@ -83,18 +93,34 @@ public class LogHandler {
     }
 
     private void logErrorMessages(final Report report) {
-        List<String> errorMessages = report.getErrorMessages();
-        if (errorPosition < errorMessages.size()) {
-            errorLogger.logEachLine(errorMessages.subList(errorPosition, errorMessages.size()));
-            errorPosition = errorMessages.size();
-        }
+        errorPosition = logMessages(errorLogger, report.getDiagnostics(), Severity.ERROR, errorPosition);
     }
 
     private void logInfoMessages(final Report report) {
-        List<String> infoMessages = report.getInfoMessages();
-        if (infoPosition < infoMessages.size()) {
-            logger.logEachLine(infoMessages.subList(infoPosition, infoMessages.size()));
-            infoPosition = infoMessages.size();
+        infoPosition = logMessages(logger, report.getDiagnostics(), Severity.INFO, infoPosition);
+    }
+
+    private long logMessages(final PluginLogger pluginLogger, final Diagnostics diagnostics, final Severity severity,
+                             final long position) {
+        long count = diagnostics.getCount(severity);
+        if (position >= count) {
+            return position;
+        }
+
+        List<String> samples = diagnostics.getSamples(severity);
+        int available = (int) Math.min(count - position, samples.size());
+        int printed = Math.min(available, MAX_LINES);
+        pluginLogger.logEachLine(samples.subList(samples.size() - printed, samples.size()));
+
+        long suppressed = count - position - printed;
+        if (suppressed > 0) {
+            pluginLogger.log("Skipped %d further messages, total number of messages by category:", suppressed);
+            diagnostics.getCategories(severity).entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(MAX_CATEGORIES)
+                    .forEach(category -> pluginLogger.log("%6d x %s", category.getValue(), category.getKey()));
         }
+        
+        return count;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package io.jenkins.plugins.reporter.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides a lock for each file or directory, so that modifications of the files of one job do not block the files of
+ * other jobs. The locks are referenced weakly: a lock is kept as long as it is held or used by a thread, and removed
+ * afterwards, so the locks do not grow with the number of files that have ever been modified.
+ */
+public final class PathLocks {
+
+    private final ConcurrentMap<Path, LockReference> locks = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<Object> released = new ReferenceQueue<>();
+
+    /**
+     * Returns the lock of the given path. All threads that use the lock at the same time get the same lock.
+     *
+     * @param path
+     *         the path of the file or directory
+     *
+     * @return the lock
+     */
+    public Object get(final Path path) {
+        removeReleasedLocks();
+
+        while (true) {
+            LockReference reference = locks.get(path);
+            Object lock = reference == null ? null : reference.get();
+            if (lock != null) {
+                return lock;
+            }
+
+            Object created = new Object();
+            LockReference createdReference = new LockReference(path, created, released);
+            if (reference == null
+                    ? locks.putIfAbsent(path, createdReference) == null
+                    : locks.replace(path, reference, createdReference)) {
+                return created;
+            }
+        }
+    }
+
+    private void removeReleasedLocks() {
+        for (Reference<?> reference = released.poll(); reference != null; reference = released.poll()) {
+            locks.remove(((LockReference) reference).path, reference);
+        }
+    }
+
+    /**
+     * A weak reference to a lock that knows the path of the lock.
+     */
+    private static final class LockReference extends WeakReference<Object> {
+        private final Path path;
+
+        LockReference(final Path path, final Object lock, final ReferenceQueue<Object> queue) {
+            super(lock, queue);
+            this.path = path;
+        }
+    }
+}
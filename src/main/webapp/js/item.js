@@ -1,6 +1,7 @@
 /* global jQuery3, view, echartsJenkinsApi, bootstrap5 */
 (function ($) {
     const trendConfigurationDialogId = 'chart-configuration-issues-history';
+    const trendModel = {}; // the last received trend model, with its version and configuration
 
     $('#' + trendConfigurationDialogId).on('hidden.bs.modal', function () {
         redrawTrendCharts();
@@ -14,13 +15,33 @@
     const tables = $('table.item-table');
     tables.each(function () {
         const table = jQuery3(this);
-        table.DataTable({
+        const options = {
             pagingType: 'numbers', // Page number button only
             columnDefs: [{
                 targets: 'no-sort', // Columns with class 'no-sort' are not orderable
                 orderable: false
             }]
-        });
+        };
+        if (table.data('server-side') === true) {
+            /**
+             * Large tables request only the visible rows, sorted and filtered by the server.
+             */
+            options.serverSide = true;
+            options.processing = true;
+            options.ajax = function (data, callback) {
+                const order = data.order.length > 0 ? data.order[0] : {column: 0, dir: 'asc'};
+                view.getTableRows(data.draw, data.start, data.length, order.column, order.dir, data.search.value,
+                    function (rows) {
+                        callback(JSON.parse(rows.responseJSON));
+                    });
+            };
+            options.drawCallback = function () {
+                table.find('[data-bs-toggle="tooltip"]').each(function () {
+                    new bootstrap5.Tooltip(this).enable();
+                });
+            };
+        }
+        table.DataTable(options);
     });
     
     /**
@@ -93,7 +114,12 @@
      */
     function redrawTrendCharts () {
 
-        const configuration = JSON.stringify(echartsJenkinsApi.readFromLocalStorage('jenkins-echarts-trend-configuration-default'));
+        const chartConfiguration = echartsJenkinsApi.readFromLocalStorage('jenkins-echarts-trend-configuration-default') || {};
+        const chart = document.getElementById('item-trend-chart');
+        if (chart) {
+            chartConfiguration.width = chart.clientWidth; // the server reduces the points to the width of the chart
+        }
+        const configuration = JSON.stringify(chartConfiguration);
 
         const openBuild = function (build) {
             view.getUrlForBuild(build, window.location.href, function (buildUrl) {
@@ -106,9 +132,16 @@
         /**
          * Creates a build trend chart that shows the result for a couple of builds.
          */
-        view.getBuildTrend(configuration, function (lineModel) {
+        const version = configuration === trendModel.configuration ? trendModel.version : '';
+        view.getBuildTrendIfModified(configuration, version, function (response) {
+            const trend = JSON.parse(response.responseJSON);
+            if (trend.model) { // otherwise the trend is unchanged
+                trendModel.configuration = configuration;
+                trendModel.version = trend.version;
+                trendModel.model = JSON.stringify(trend.model);
+            }
             echartsJenkinsApi.renderConfigurableZoomableTrendChart(`item-trend-chart`,
-                lineModel.responseJSON, trendConfigurationDialogId, openBuild);
+                trendModel.model, trendConfigurationDialogId, openBuild);
         });
     }
     
@@ -0,0 +1,92 @@
+/* global view */
+(function () {
+    const pageLength = 100;
+
+    /**
+     * Loads the sub items of the item with the given path into the list, starting at the given position.
+     *
+     * @param {HTMLElement} list - the list to append the sub items to
+     * @param {String} path - the encoded IDs of the items below the current item, separated by slashes
+     * @param {Number} start - the position of the first sub item to load
+     */
+    function loadChildren (list, path, start) {
+        view.getChildren(path, start, pageLength, function (response) {
+            const node = JSON.parse(response.responseJSON);
+            if (!node.children) {
+                return;
+            }
+
+            node.children.forEach(function (child) {
+                list.appendChild(createNode(child, path));
+            });
+
+            const loaded = node.start + node.children.length;
+            if (loaded < node.count) {
+                const more = document.createElement('li');
+                const button = document.createElement('button');
+                button.type = 'button';
+                button.className = 'btn btn-link btn-sm p-0';
+                button.textContent = document.querySelector('.item-tree').dataset.loadMore
+                    + ' (' + loaded + '/' + node.count + ')';
+                button.addEventListener('click', function () {
+                    more.remove();
+                    loadChildren(list, path, loaded);
+                });
+                more.appendChild(button);
+                list.appendChild(more);
+            }
+        });
+    }
+
+    /**
+     * Creates the list entry of a sub item. Sub items with own sub items can be expanded.
+     *
+     * @param {Object} child - the sub item
+     * @param {String} parentPath - the path of the parent item
+     * @return {HTMLElement} the list entry
+     */
+    function createNode (child, parentPath) {
+        const path = parentPath ? parentPath + '/' + child.id : child.id;
+
+        const entry = document.createElement('li');
+        const color = document.createElement('span');
+        color.className = 'item-tree-color';
+        color.style.backgroundColor = child.color;
+
+        const link = document.createElement('a');
+        link.href = path + '/';
+        link.textContent = child.name;
+
+        const total = document.createElement('span');
+        total.className = 'item-tree-total';
+        total.textContent = child.total;
+
+        if (child.childCount > 0) {
+            const details = document.createElement('details');
+            const summary = document.createElement('summary');
+            summary.append(color, link, total);
+            const list = document.createElement('ul');
+            list.className = 'item-tree-children';
+            details.append(summary, list);
+            details.addEventListener('toggle', function () {
+                if (details.open && !list.hasChildNodes()) {
+                    loadChildren(list, path, 0);
+                }
+            });
+            entry.appendChild(details);
+        }
+        else {
+            entry.append(color, child.name, total);
+        }
+        return entry;
+    }
+
+    document.querySelectorAll('.item-tree').forEach(function (tree) {
+        const list = tree.querySelector('.item-tree-children');
+        tree.addEventListener('toggle', function () {
+            if (tree.open && !list.hasChildNodes()) {
+                loadChildren(list, list.dataset.path, 0);
+            }
+        });
+    });
+})();